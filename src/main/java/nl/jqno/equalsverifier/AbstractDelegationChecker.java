@@ -21,6 +21,7 @@ import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static nl.jqno.equalsverifier.internal.Assert.fail;
 
@@ -30,13 +31,15 @@ class AbstractDelegationChecker<T> implements Checker {
     private final PrefabValues prefabValues;
     private final ClassAccessor<T> classAccessor;
     private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
-
-    public AbstractDelegationChecker(Configuration<T> config) {
-        this.type = config.getType();
-        this.typeTag = config.getTypeTag();
-        this.prefabValues = config.getPrefabValues();
-        this.classAccessor = config.createClassAccessor();
-        this.cachedHashCodeInitializer = config.getCachedHashCodeInitializer();
+    private final List<Field> fields;
+
+    public AbstractDelegationChecker(VerificationPlan<T> plan) {
+        this.type = plan.getType();
+        this.typeTag = plan.getTypeTag();
+        this.prefabValues = plan.getPrefabValues();
+        this.classAccessor = plan.getClassAccessor();
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
+        this.fields = plan.getRawFields();
     }
 
     @Override
@@ -75,7 +78,7 @@ class AbstractDelegationChecker<T> implements Checker {
     }
 
     private void checkAbstractDelegationInFields() {
-        for (Field field : FieldIterable.of(type)) {
+        for (Field field : fields) {
             TypeTag tag = TypeTag.of(field, typeTag);
             Object instance = safelyGetInstance(tag);
             if (instance != null) {
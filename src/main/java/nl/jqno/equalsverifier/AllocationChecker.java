@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.AllocationCounter;
+import nl.jqno.equalsverifier.internal.ClassAccessor;
+import nl.jqno.equalsverifier.internal.Formatter;
+import nl.jqno.equalsverifier.internal.MethodInvocationScanner;
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import static nl.jqno.equalsverifier.internal.Assert.fail;
+
+/**
+ * Checks that {@code equals} and {@code hashCode} don't allocate memory.
+ *
+ * Allocation is measured only on JVMs that can count the bytes allocated by a
+ * thread. The methods are warmed up first, so that allocations which the JIT
+ * compiler can eliminate are not counted.
+ */
+class AllocationChecker<T> implements Checker {
+    private static final int WARMUP_CALLS = 20000;
+    private static final int MEASURED_CALLS = 1000;
+    private static final int ATTEMPTS = 5;
+    private static final double MAX_BYTES_PER_CALL = 1.0;
+
+    private final TypeTag typeTag;
+    private final ClassAccessor<T> classAccessor;
+    private final AllocationCounter counter = new AllocationCounter();
+
+    private int sink;
+
+    public AllocationChecker(VerificationPlan<T> plan) {
+        this.typeTag = plan.getTypeTag();
+        this.classAccessor = plan.getClassAccessor();
+    }
+
+    @Override
+    public void check() {
+        if (classAccessor.isEqualsInheritedFromObject()) {
+            return;
+        }
+
+        checkObjectsHash();
+        if (!counter.isSupported()) {
+            return;
+        }
+
+        T red = classAccessor.getRedObject(typeTag);
+        T copy = classAccessor.getRedObject(typeTag);
+        T black = classAccessor.getBlackObject(typeTag);
+        checkAllocation("equals", red, copy, equalsCall(red, copy));
+        checkAllocation("equals", red, black, equalsCall(red, black));
+        checkAllocation("hashCode", red, null, hashCodeCall(red));
+    }
+
+    private void checkObjectsHash() {
+        Class<?> declaringClass;
+        try {
+            declaringClass = classAccessor.getType().getMethod("hashCode").getDeclaringClass();
+        }
+        catch (NoSuchMethodException e) {
+            throw new ReflectionException(e);
+        }
+
+        MethodInvocationScanner scanner = new MethodInvocationScanner(declaringClass);
+        if (scanner.invokes("hashCode", "()I", Objects.class, "hash", "([Ljava/lang/Object;)I")) {
+            fail(Formatter.of("Allocation: hashCode calls Objects.hash, which allocates an array for its varargs on every call." +
+                    "\nCombine the hashCodes of the fields directly instead."));
+        }
+    }
+
+    private void checkAllocation(String methodName, T object, T other, Runnable call) {
+        double bytesPerCall = bytesPerCall(call);
+        if (bytesPerCall <= MAX_BYTES_PER_CALL) {
+            return;
+        }
+        String bytes = String.format(Locale.ROOT, "%.0f", bytesPerCall);
+        if (other == null) {
+            fail(Formatter.of("Allocation: %% allocates %% bytes per call, for\n  %%", methodName, bytes, object));
+        }
+        else {
+            fail(Formatter.of("Allocation: %% allocates %% bytes per call, when comparing\n  %%\nand\n  %%",
+                    methodName, bytes, object, other));
+        }
+    }
+
+    private double bytesPerCall(Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+
+        // One-off allocations, for example by the JVM's reflection machinery,
+        // shouldn't count; taking the minimum over several attempts skips them.
+        long best = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            long before = counter.allocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                call.run();
+            }
+            long after = counter.allocatedBytes();
+            long overhead = counter.allocatedBytes() - after;
+            best = Math.min(best, after - before - overhead);
+        }
+        return (double)best / MEASURED_CALLS;
+    }
+
+    private Runnable equalsCall(final Object left, final Object right) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (left.equals(right)) {
+                    sink++;
+                }
+            }
+        };
+    }
+
+    private Runnable hashCodeCall(final Object object) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                sink += object.hashCode();
+            }
+        };
+    }
+}
@@ -17,17 +17,15 @@ package nl.jqno.equalsverifier;
 
 import nl.jqno.equalsverifier.internal.Formatter;
 
-import java.util.EnumSet;
-
 import static nl.jqno.equalsverifier.internal.Assert.*;
 
 class CachedHashCodeChecker<T> implements Checker {
     private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
-    private final EnumSet<Warning> warningsToSuppress;
+    private final VerificationPlan<T> plan;
 
-    public CachedHashCodeChecker(Configuration<T> config) {
-        this.cachedHashCodeInitializer = config.getCachedHashCodeInitializer();
-        this.warningsToSuppress = config.getWarningsToSuppress();
+    public CachedHashCodeChecker(VerificationPlan<T> plan) {
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
+        this.plan = plan;
     }
 
     @Override
@@ -35,12 +33,12 @@ class CachedHashCodeChecker<T> implements Checker {
         if (cachedHashCodeInitializer.isPassthrough()) {
             return;
         }
-        if (warningsToSuppress.contains(Warning.NONFINAL_FIELDS)) {
+        if (plan.isSuppressed(Warning.NONFINAL_FIELDS)) {
             fail(Formatter.of("Cached hashCode: EqualsVerifier can only check cached hashCodes for immutable classes."));
         }
 
         T reference = cachedHashCodeInitializer.getExample();
-        if (warningsToSuppress.contains(Warning.NO_EXAMPLE_FOR_CACHED_HASHCODE)) {
+        if (plan.isSuppressed(Warning.NO_EXAMPLE_FOR_CACHED_HASHCODE)) {
             if (reference != null) {
                 fail(Formatter.of("Cached hashCode: example must be null if %% is suppressed", Warning.NO_EXAMPLE_FOR_CACHED_HASHCODE.name()));
             }
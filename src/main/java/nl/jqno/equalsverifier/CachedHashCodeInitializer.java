@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 Jan Ouwens
+ * Copyright 2015-2016 Jan Ouwens
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,10 @@ import nl.jqno.equalsverifier.internal.FieldIterable;
 import nl.jqno.equalsverifier.internal.SuperclassIterable;
 import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -40,17 +42,23 @@ import java.lang.reflect.Modifier;
  * object, it will simply return the value of <code>Object.hashCode()</code> as
  * normal instead.
  *
+ * The field and the recompute method are bound to {@link MethodHandle}s once,
+ * when the initializer is created, so that recomputing the cached hash code
+ * doesn't box or unbox the hash code on every call.
+ *
  * @author Niall Gallagher, Jan Ouwens
  */
 class CachedHashCodeInitializer<T> {
     private final boolean passthrough;
     private final Field cachedHashCodeField;
-    private final Method calculateMethod;
+    private final MethodHandle cachedHashCodeSetter;
+    private final MethodHandle calculateMethod;
     private final T example;
 
     private CachedHashCodeInitializer() {
         this.passthrough = true;
         this.cachedHashCodeField = null;
+        this.cachedHashCodeSetter = null;
         this.calculateMethod = null;
         this.example = null;
     }
@@ -58,7 +66,8 @@ class CachedHashCodeInitializer<T> {
     public CachedHashCodeInitializer(Class<?> type, String cachedHashCodeField, String calculateHashCodeMethod, T example) {
         this.passthrough = false;
         this.cachedHashCodeField = findCachedHashCodeField(type, cachedHashCodeField);
-        this.calculateMethod = findCalculateHashCodeMethod(type, calculateHashCodeMethod);
+        this.cachedHashCodeSetter = bindSetter(this.cachedHashCodeField);
+        this.calculateMethod = bindCalculateMethod(findCalculateHashCodeMethod(type, calculateHashCodeMethod));
         this.example = example;
     }
 
@@ -90,11 +99,37 @@ class CachedHashCodeInitializer<T> {
 
     private void recomputeCachedHashCode(Object object) {
         try {
-            cachedHashCodeField.set(object, 0); // zero the field first, in case calculateMethod checks it
-            Integer recomputedHashCode = (Integer)calculateMethod.invoke(object);
-            cachedHashCodeField.set(object, recomputedHashCode);
+            cachedHashCodeSetter.invokeExact(object, 0); // zero the field first, in case calculateMethod checks it
+            int recomputedHashCode = (int)calculateMethod.invokeExact(object);
+            cachedHashCodeSetter.invokeExact(object, recomputedHashCode);
+        }
+        catch (RuntimeException | Error e) {
+            // Thrown by the recompute method itself; pass it on as is.
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new ReflectionException(e);
+        }
+    }
+
+    private MethodHandle bindSetter(Field field) {
+        try {
+            return MethodHandles.lookup()
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class));
+        }
+        catch (IllegalAccessException e) {
+            throw new ReflectionException(e);
+        }
+    }
+
+    private MethodHandle bindCalculateMethod(Method method) {
+        try {
+            return MethodHandles.lookup()
+                    .unreflect(method)
+                    .asType(MethodType.methodType(int.class, Object.class));
         }
-        catch (IllegalAccessException | InvocationTargetException e) {
+        catch (IllegalAccessException e) {
             throw new ReflectionException(e);
         }
     }
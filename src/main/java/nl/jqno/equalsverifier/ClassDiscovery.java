@@ -0,0 +1,302 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.EqualsDeclarationScanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds the classes that declare {@code equals} or {@code hashCode}, so they
+ * can all be verified in one go.
+ *
+ * Classes are found by reading their class files directly from directories
+ * and jar files. They aren't loaded, so their static initializers don't run.
+ *
+ * Use, for example, like this:
+ *
+ * <pre>
+ * for (Class&lt;?&gt; type : ClassDiscovery.forClasspath()
+ *         .inPackage("com.example.domain")
+ *         .findClasses(getClass().getClassLoader())) {
+ *     EqualsVerifier.forClass(type).verify();
+ * }
+ * </pre>
+ *
+ * @author Jan Ouwens
+ */
+public final class ClassDiscovery {
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final List<File> paths;
+    private final List<String> packageNames = new ArrayList<>();
+
+    private ClassDiscovery(List<File> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * Factory method. Scans the directories and jar files on the classpath
+     * of the current JVM.
+     *
+     * @return A {@link ClassDiscovery} for the classpath.
+     */
+    public static ClassDiscovery forClasspath() {
+        List<File> paths = new ArrayList<>();
+        for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!path.isEmpty()) {
+                paths.add(new File(path));
+            }
+        }
+        return new ClassDiscovery(paths);
+    }
+
+    /**
+     * Factory method. Scans the given directories and jar files.
+     *
+     * @param paths Directories and jar files that contain class files.
+     * @return A {@link ClassDiscovery} for {@code paths}.
+     */
+    public static ClassDiscovery forPaths(File... paths) {
+        for (File path : paths) {
+            if (path == null) {
+                throw new NullPointerException("One of the paths is null.");
+            }
+        }
+        return new ClassDiscovery(new ArrayList<>(Arrays.asList(paths)));
+    }
+
+    /**
+     * Factory method. Scans the directories and jar files from which
+     * {@code classLoader} loads the given packages, restricted to those
+     * packages and their subpackages.
+     *
+     * Unlike {@link #forClasspath()}, this also works when the classpath of
+     * the JVM doesn't list the actual directories and jar files, as in some
+     * test runners.
+     *
+     * @param classLoader The class loader that loads the packages.
+     * @param packageNames The names of the packages, for example
+     *          {@code "com.example.domain"}.
+     * @return A {@link ClassDiscovery} for {@code packageNames}.
+     * @throws IllegalStateException If the class loader can't be queried.
+     */
+    public static ClassDiscovery forPackages(ClassLoader classLoader, String... packageNames) {
+        Set<File> paths = new LinkedHashSet<>();
+        for (String packageName : packageNames) {
+            String resource = packageName.replace('.', '/');
+            try {
+                Enumeration<URL> urls = classLoader.getResources(resource);
+                while (urls.hasMoreElements()) {
+                    File path = rootOf(urls.nextElement(), resource);
+                    if (path != null) {
+                        paths.add(path);
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new IllegalStateException("Could not find package " + packageName + ".", e);
+            }
+        }
+
+        ClassDiscovery result = new ClassDiscovery(new ArrayList<>(paths));
+        for (String packageName : packageNames) {
+            result.inPackage(packageName);
+        }
+        return result;
+    }
+
+    private static File rootOf(URL url, String resource) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                File directory = new File(url.toURI());
+                int depth = resource.isEmpty() ? 0 : resource.split("/").length;
+                for (int i = 0; i < depth; i++) {
+                    directory = directory.getParentFile();
+                }
+                return directory;
+            }
+            if ("jar".equals(url.getProtocol())) {
+                String path = url.getPath();
+                return new File(new URI(path.substring(0, path.indexOf("!/"))));
+            }
+            return null;
+        }
+        catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Restricts the search to a package and its subpackages. May be called
+     * more than once to search several packages. If it isn't called, all
+     * packages are searched.
+     *
+     * @param packageName The name of the package, for example
+     *          {@code "com.example.domain"}.
+     * @return {@code this}, for easy method chaining.
+     */
+    public ClassDiscovery inPackage(String packageName) {
+        if (packageName == null) {
+            throw new NullPointerException("Package name is null.");
+        }
+        packageNames.add(packageName);
+        return this;
+    }
+
+    /**
+     * Finds the names of the classes that declare {@code equals(Object)} or
+     * {@code hashCode()}, without loading them.
+     *
+     * Interfaces, enums and annotations are skipped. If a class occurs more
+     * than once, it's only returned once.
+     *
+     * @return The binary names of the classes, sorted.
+     * @throws IllegalStateException If a directory or jar file can't be read,
+     *          or if one of the class files in it can't be parsed; the
+     *          message names the class file.
+     */
+    public List<String> findClassNames() {
+        Set<String> result = new TreeSet<>();
+        for (File path : paths) {
+            try {
+                if (path.isDirectory()) {
+                    scanDirectory(path.toPath(), result);
+                }
+                else if (path.isFile()) {
+                    scanJar(path, result);
+                }
+            }
+            catch (IOException e) {
+                throw new IllegalStateException("Could not scan " + path + ".", e);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Like {@link #findClassNames()}, but returns the classes themselves.
+     *
+     * The classes are loaded, but not initialized, so their static
+     * initializers don't run until they are used.
+     *
+     * @param classLoader The class loader with which to load the classes.
+     * @return The classes, sorted by name.
+     * @throws IllegalStateException If a class can't be found or loaded.
+     */
+    public List<Class<?>> findClasses(ClassLoader classLoader) {
+        List<Class<?>> result = new ArrayList<>();
+        for (String name : findClassNames()) {
+            try {
+                result.add(Class.forName(name, false, classLoader));
+            }
+            catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Could not load " + name + ".", e);
+            }
+        }
+        return result;
+    }
+
+    private void scanDirectory(Path root, final Set<String> result) throws IOException {
+        for (String prefix : resourcePrefixes()) {
+            Path start = prefix.isEmpty() ? root : root.resolve(prefix);
+            if (!Files.isDirectory(start)) {
+                continue;
+            }
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (isCandidate(file.getFileName().toString())) {
+                        try (InputStream in = Files.newInputStream(file)) {
+                            add(declaringClassName(in, file.toString()), result);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+
+    private void scanJar(File jar, Set<String> result) throws IOException {
+        List<String> prefixes = resourcePrefixes();
+        try (ZipFile zip = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || name.startsWith("META-INF/") || !isCandidate(name) ||
+                        !startsWithAny(name, prefixes)) {
+                    continue;
+                }
+                try (InputStream in = zip.getInputStream(entry)) {
+                    add(declaringClassName(in, jar + "!/" + name), result);
+                }
+            }
+        }
+    }
+
+    private String declaringClassName(InputStream in, String location) throws IOException {
+        try {
+            return EqualsDeclarationScanner.declaringClassName(in);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Could not read " + location +
+                    ": its class file version may not be supported.", e);
+        }
+    }
+
+    private List<String> resourcePrefixes() {
+        List<String> result = new ArrayList<>();
+        if (packageNames.isEmpty()) {
+            result.add("");
+        }
+        for (String packageName : packageNames) {
+            result.add(packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/");
+        }
+        return result;
+    }
+
+    private boolean startsWithAny(String name, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCandidate(String fileName) {
+        return fileName.endsWith(CLASS_EXTENSION) &&
+                !fileName.endsWith("package-info.class") &&
+                !fileName.endsWith("module-info.class");
+    }
+
+    private void add(String className, Set<String> result) {
+        if (className != null) {
+            result.add(className);
+        }
+    }
+}
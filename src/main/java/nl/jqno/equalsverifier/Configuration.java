@@ -19,6 +19,7 @@ import nl.jqno.equalsverifier.internal.ClassAccessor;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
+import java.io.File;
 import java.util.*;
 
 public final class Configuration<T> {
@@ -35,12 +36,25 @@ public final class Configuration<T> {
     private final Class<? extends T> redefinedSubclass;
     private final boolean usingGetClass;
     private final EnumSet<Warning> warningsToSuppress;
+    private final boolean hashQualityAnalysis;
+    private final long callCostThresholdNanos;
+    private final Appendable costReport;
+    private final boolean allocationCheck;
+    private final long timeBudgetNanos;
+    private final Long timeBudgetSeed;
+    private final Appendable timeBudgetReport;
+    private final File resultCache;
+    private final boolean customPrefabValues;
+    private final long fieldCostThresholdNanos;
 
     // CHECKSTYLE: ignore ParameterNumber for 1 line.
     private Configuration(Class<T> type, PrefabValues prefabValues, List<T> equalExamples, List<T> unequalExamples,
                           Set<String> ignoredFields, CachedHashCodeInitializer<T> cachedHashCodeInitializer,
                           boolean hasRedefinedSuperclass, Class<? extends T> redefinedSubclass, boolean usingGetClass,
-                          EnumSet<Warning> warningsToSuppress) {
+                          EnumSet<Warning> warningsToSuppress, boolean hashQualityAnalysis, long callCostThresholdNanos,
+                          Appendable costReport, boolean allocationCheck, long timeBudgetNanos, Long timeBudgetSeed,
+                          Appendable timeBudgetReport, File resultCache, boolean customPrefabValues,
+                          long fieldCostThresholdNanos) {
 
         this.type = type;
         this.typeTag = new TypeTag(type);
@@ -53,11 +67,22 @@ public final class Configuration<T> {
         this.redefinedSubclass = redefinedSubclass;
         this.usingGetClass = usingGetClass;
         this.warningsToSuppress = warningsToSuppress;
+        this.hashQualityAnalysis = hashQualityAnalysis;
+        this.callCostThresholdNanos = callCostThresholdNanos;
+        this.costReport = costReport;
+        this.allocationCheck = allocationCheck;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.timeBudgetSeed = timeBudgetSeed;
+        this.timeBudgetReport = timeBudgetReport;
+        this.resultCache = resultCache;
+        this.customPrefabValues = customPrefabValues;
+        this.fieldCostThresholdNanos = fieldCostThresholdNanos;
     }
 
     public static <T> Configuration<T> of(Class<T> type) {
-        return new Configuration<>(type, new PrefabValues(), new ArrayList<T>(), new ArrayList<T>(), new HashSet<String>(),
-                CachedHashCodeInitializer.<T>passthrough(), false, null, false, EnumSet.noneOf(Warning.class));
+        return new Configuration<>(type, JavaApiPrefabValues.createPrefabValues(), new ArrayList<T>(),
+                new ArrayList<T>(), new HashSet<String>(), CachedHashCodeInitializer.<T>passthrough(), false, null,
+                false, EnumSet.noneOf(Warning.class), false, 0, null, false, 0, null, null, null, false, 0);
     }
 
     public Class<T> getType() {
@@ -73,8 +98,10 @@ public final class Configuration<T> {
     }
 
     public Configuration<T> withEqualExamples(List<T> value) {
-        return new Configuration<>(type, prefabValues, value, unequalExamples, ignoredFields,
-                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress);
+        return new Configuration<>(type, prefabValues, value, unequalExamples, ignoredFields, cachedHashCodeInitializer,
+                hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress, hashQualityAnalysis,
+                callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public List<T> getEqualExamples() {
@@ -82,8 +109,10 @@ public final class Configuration<T> {
     }
 
     public Configuration<T> withUnequalExamples(List<T> value) {
-        return new Configuration<>(type, prefabValues, equalExamples, value, ignoredFields,
-                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress);
+        return new Configuration<>(type, prefabValues, equalExamples, value, ignoredFields, cachedHashCodeInitializer,
+                hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress, hashQualityAnalysis,
+                callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public List<T> getUnequalExamples() {
@@ -92,7 +121,9 @@ public final class Configuration<T> {
 
     public Configuration<T> withIgnoredFields(List<String> value) {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, new HashSet<>(value),
-                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress);
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public Set<String> getIgnoredFields() {
@@ -101,7 +132,9 @@ public final class Configuration<T> {
 
     public Configuration<T> withCachedHashCodeInitializer(CachedHashCodeInitializer<T> value) {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields, value,
-                hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress);
+                hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress, hashQualityAnalysis,
+                callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public CachedHashCodeInitializer<T> getCachedHashCodeInitializer() {
@@ -110,7 +143,9 @@ public final class Configuration<T> {
 
     public Configuration<T> withRedefinedSuperclass() {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
-                cachedHashCodeInitializer, true, redefinedSubclass, usingGetClass, warningsToSuppress);
+                cachedHashCodeInitializer, true, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public boolean hasRedefinedSuperclass() {
@@ -119,7 +154,9 @@ public final class Configuration<T> {
 
     public Configuration<T> withRedefinedSubclass(Class<? extends T> value) {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
-                cachedHashCodeInitializer, hasRedefinedSuperclass, value, usingGetClass, warningsToSuppress);
+                cachedHashCodeInitializer, hasRedefinedSuperclass, value, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public Class<? extends T> getRedefinedSubclass() {
@@ -128,7 +165,9 @@ public final class Configuration<T> {
 
     public Configuration<T> withUsingGetClass() {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
-                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, true, warningsToSuppress);
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, true, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public boolean isUsingGetClass() {
@@ -137,13 +176,105 @@ public final class Configuration<T> {
 
     public Configuration<T> withWarningsToSuppress(EnumSet<Warning> value) {
         return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
-                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, value);
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, value,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
     }
 
     public EnumSet<Warning> getWarningsToSuppress() {
         return EnumSet.copyOf(warningsToSuppress);
     }
 
+    public Configuration<T> withHashQualityAnalysis() {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                true, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
+    }
+
+    public boolean isHashQualityAnalysis() {
+        return hashQualityAnalysis;
+    }
+
+    public Configuration<T> withCostProfiling(long callThresholdNanos, long fieldThresholdNanos, Appendable report) {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callThresholdNanos, report, allocationCheck, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldThresholdNanos);
+    }
+
+    public boolean isCostProfiling() {
+        return callCostThresholdNanos > 0;
+    }
+
+    public long getCallCostThresholdNanos() {
+        return callCostThresholdNanos;
+    }
+
+    public long getFieldCostThresholdNanos() {
+        return fieldCostThresholdNanos;
+    }
+
+    public Appendable getCostReport() {
+        return costReport;
+    }
+
+    public Configuration<T> withAllocationCheck() {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, true, timeBudgetNanos, timeBudgetSeed,
+                timeBudgetReport, resultCache, customPrefabValues, fieldCostThresholdNanos);
+    }
+
+    public boolean isAllocationCheck() {
+        return allocationCheck;
+    }
+
+    public Configuration<T> withTimeBudget(long budgetNanos, Long seed, Appendable report) {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, budgetNanos, seed, report,
+                resultCache, customPrefabValues, fieldCostThresholdNanos);
+    }
+
+    public boolean isTimeBudgeted() {
+        return timeBudgetNanos > 0;
+    }
+
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    public Long getTimeBudgetSeed() {
+        return timeBudgetSeed;
+    }
+
+    public Appendable getTimeBudgetReport() {
+        return timeBudgetReport;
+    }
+
+    public Configuration<T> withResultCache(File file) {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, file, customPrefabValues, fieldCostThresholdNanos);
+    }
+
+    public File getResultCache() {
+        return resultCache;
+    }
+
+    public Configuration<T> withCustomPrefabValues() {
+        return new Configuration<>(type, prefabValues, equalExamples, unequalExamples, ignoredFields,
+                cachedHashCodeInitializer, hasRedefinedSuperclass, redefinedSubclass, usingGetClass, warningsToSuppress,
+                hashQualityAnalysis, callCostThresholdNanos, costReport, allocationCheck, timeBudgetNanos,
+                timeBudgetSeed, timeBudgetReport, resultCache, true, fieldCostThresholdNanos);
+    }
+
+    public boolean hasCustomPrefabValues() {
+        return customPrefabValues;
+    }
+
     public ClassAccessor<T> createClassAccessor() {
         return ClassAccessor.of(type, prefabValues, warningsToSuppress.contains(Warning.ANNOTATION));
     }
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.FieldInspector.FieldCheck;
+import nl.jqno.equalsverifier.internal.ClassAccessor;
+import nl.jqno.equalsverifier.internal.FieldAccessor;
+import nl.jqno.equalsverifier.internal.Formatter;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static nl.jqno.equalsverifier.internal.Assert.fail;
+
+/**
+ * Measures how long {@code equals} and {@code hashCode} take, and how much
+ * each field contributes to that.
+ *
+ * A field's cost is the difference between the cost of a call on instances
+ * where all fields are set, and the cost of the same call on instances where
+ * only that field is left at its default value. If {@code equals} or
+ * {@code hashCode} can't cope with that, the field's cost remains unknown.
+ * For a class with a cached hash code, the cost of recomputing it is
+ * measured.
+ *
+ * Each field takes about a third of a second to measure. When there are so
+ * many fields that this would take more than a second in total, every
+ * measurement is shortened proportionally. If measuring the fields still
+ * takes more than twice that long, the remaining fields aren't measured, and
+ * their cost remains unknown too. Fields with an unknown cost are listed in
+ * the report, without a cost, and in the failure message.
+ */
+class CostProfilingChecker<T> implements Checker {
+    private static final int WARMUP_CALLS = 10000;
+    private static final long WARMUP_NANOS = 50000000L;
+    private static final int ROUNDS = 5;
+    private static final int CALLS_PER_ROUND = 2000;
+    private static final long ROUND_NANOS = 10000000L;
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+    private static final int MIN_CALLS = 100;
+    private static final long NANOS_PER_FIELD = 2 * (WARMUP_NANOS + 2 * ROUNDS * ROUND_NANOS);
+    private static final long MAX_FIELD_PROFILING_NANOS = 1000000000L;
+
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    private final VerificationPlan<T> plan;
+    private final TypeTag typeTag;
+    private final ClassAccessor<T> classAccessor;
+    private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
+    private final long callThresholdNanos;
+    private final long fieldThresholdNanos;
+    private final Appendable report;
+    private final Clock clock;
+
+    private int warmupCalls = WARMUP_CALLS;
+    private long warmupNanos = WARMUP_NANOS;
+    private int callsPerRound = CALLS_PER_ROUND;
+    private long roundNanos = ROUND_NANOS;
+
+    private double equalsNanos;
+    private double hashCodeNanos;
+    private int sink;
+
+    public CostProfilingChecker(VerificationPlan<T> plan) {
+        this(plan, SYSTEM_CLOCK);
+    }
+
+    /* default */ CostProfilingChecker(VerificationPlan<T> plan, Clock clock) {
+        this.plan = plan;
+        this.typeTag = plan.getTypeTag();
+        this.classAccessor = plan.getClassAccessor();
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
+        this.callThresholdNanos = plan.getCallCostThresholdNanos();
+        this.fieldThresholdNanos = plan.getFieldCostThresholdNanos();
+        this.report = plan.getCostReport();
+        this.clock = clock;
+    }
+
+    @Override
+    public void check() {
+        if (classAccessor.isEqualsInheritedFromObject()) {
+            return;
+        }
+
+        T reference = classAccessor.getRedObject(typeTag);
+        T copy = classAccessor.getRedObject(typeTag);
+        final Runnable fullEquals = equalsCall(reference, copy);
+        final Runnable fullHashCode = hashCodeCall(reference);
+        equalsNanos = time(fullEquals);
+        hashCodeNanos = time(fullHashCode);
+
+        scaleToFieldCount(countProfiledFields());
+        final long deadline = clock.nanoTime() + 2 * MAX_FIELD_PROFILING_NANOS;
+        final List<Measurement> fieldMeasurements = new ArrayList<>();
+        final List<String> unknownFields = new ArrayList<>();
+        FieldInspector<T> inspector = new FieldInspector<>(plan);
+        inspector.check(new FieldCheck() {
+            @Override
+            public void execute(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
+                if (!isProfiled(referenceAccessor.getField())) {
+                    return;
+                }
+                String fieldName = referenceAccessor.getFieldName();
+                if (clock.nanoTime() > deadline) {
+                    unknownFields.add(fieldName);
+                    return;
+                }
+                referenceAccessor.defaultField();
+                changedAccessor.defaultField();
+                Object left = referenceAccessor.getObject();
+                Object right = changedAccessor.getObject();
+                try {
+                    double[] equals = timeAlternately(fullEquals, equalsCall(left, right));
+                    double[] hashCode = timeAlternately(fullHashCode, hashCodeCall(left));
+                    equalsNanos = Math.min(equalsNanos, equals[0]);
+                    hashCodeNanos = Math.min(hashCodeNanos, hashCode[0]);
+                    fieldMeasurements.add(new Measurement(fieldName, "equals", equals[0] - equals[1]));
+                    fieldMeasurements.add(new Measurement(fieldName, "hashCode", hashCode[0] - hashCode[1]));
+                }
+                catch (RuntimeException e) {
+                    // equals or hashCode needs this field to be set, so its cost can't be isolated.
+                    unknownFields.add(fieldName);
+                }
+            }
+        });
+
+        Measurement equals = new Measurement(null, "equals", equalsNanos);
+        Measurement hashCode = new Measurement(null, "hashCode", hashCodeNanos);
+        writeReport(equals, hashCode, fieldMeasurements, unknownFields);
+        for (Measurement m : fieldMeasurements) {
+            checkThreshold(m, unknownFields);
+        }
+        checkThreshold(equals, unknownFields);
+        checkThreshold(hashCode, unknownFields);
+    }
+
+    private boolean isProfiled(Field field) {
+        VerificationPlan.PlannedField planned = plan.fieldFor(field);
+        return planned.canBeModifiedReflectively() && !planned.isStatic() && !planned.isCachedHashCodeField();
+    }
+
+    private int countProfiledFields() {
+        int result = 0;
+        for (VerificationPlan.PlannedField planned : plan.getFields()) {
+            if (isProfiled(planned.getField())) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private void scaleToFieldCount(int fieldCount) {
+        if (fieldCount * NANOS_PER_FIELD <= MAX_FIELD_PROFILING_NANOS) {
+            return;
+        }
+        double scale = (double)MAX_FIELD_PROFILING_NANOS / (fieldCount * NANOS_PER_FIELD);
+        warmupCalls = Math.max(MIN_CALLS, (int)(WARMUP_CALLS * scale));
+        warmupNanos = (long)(WARMUP_NANOS * scale);
+        callsPerRound = Math.max(MIN_CALLS, (int)(CALLS_PER_ROUND * scale));
+        roundNanos = (long)(ROUND_NANOS * scale);
+    }
+
+    private Runnable equalsCall(final Object left, final Object right) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (left.equals(right)) {
+                    sink++;
+                }
+            }
+        };
+    }
+
+    private Runnable hashCodeCall(final Object object) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                sink += cachedHashCodeInitializer.getInitializedHashCode(object);
+            }
+        };
+    }
+
+    private double time(Runnable call) {
+        callRepeatedly(call, WARMUP_CALLS, WARMUP_NANOS);
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.min(best, callRepeatedly(call, CALLS_PER_ROUND, ROUND_NANOS));
+        }
+        return best;
+    }
+
+    // Measuring both calls under the same JIT and cache conditions keeps
+    // the difference between them meaningful.
+    private double[] timeAlternately(Runnable first, Runnable second) {
+        callRepeatedly(second, warmupCalls, warmupNanos);
+        double[] best = { Double.MAX_VALUE, Double.MAX_VALUE };
+        for (int round = 0; round < ROUNDS; round++) {
+            best[0] = Math.min(best[0], callRepeatedly(first, callsPerRound, roundNanos));
+            best[1] = Math.min(best[1], callRepeatedly(second, callsPerRound, roundNanos));
+        }
+        return best;
+    }
+
+    private double callRepeatedly(Runnable call, int maxCalls, long maxNanos) {
+        long start = clock.nanoTime();
+        int calls = 0;
+        while (calls < maxCalls) {
+            call.run();
+            calls++;
+            // Reading the clock on every call would dominate the cost of cheap methods.
+            boolean checkClock = calls < CLOCK_CHECK_INTERVAL || calls % CLOCK_CHECK_INTERVAL == 0;
+            if (checkClock && clock.nanoTime() - start > maxNanos) {
+                break;
+            }
+        }
+        return (double)(clock.nanoTime() - start) / calls;
+    }
+
+    private void writeReport(Measurement equals, Measurement hashCode, List<Measurement> fieldMeasurements,
+            List<String> unknownFields) {
+        if (report == null) {
+            return;
+        }
+        try {
+            report.append("class,field,method,nanos\n");
+            writeLine(equals.fieldName, equals.methodName, format("%.1f", equals.nanos));
+            writeLine(hashCode.fieldName, hashCode.methodName, format("%.1f", hashCode.nanos));
+            for (Measurement m : fieldMeasurements) {
+                writeLine(m.fieldName, m.methodName, format("%.1f", m.nanos));
+            }
+            for (String fieldName : unknownFields) {
+                writeLine(fieldName, "equals", "");
+                writeLine(fieldName, "hashCode", "");
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not write cost report.", e);
+        }
+    }
+
+    private void writeLine(String fieldName, String methodName, String nanos) throws IOException {
+        report.append(classAccessor.getType().getName())
+                .append(',').append(fieldName == null ? "" : fieldName)
+                .append(',').append(methodName)
+                .append(',').append(nanos)
+                .append('\n');
+    }
+
+    private void checkThreshold(Measurement m, List<String> unknownFields) {
+        String nanos = format("%.0f", m.nanos);
+        String unknown = unknownFields.isEmpty() ? "" : "\nThe cost of these fields is unknown: " + unknownFields + ".";
+        if (m.fieldName == null) {
+            if (m.nanos > callThresholdNanos) {
+                fail(Formatter.of("Cost profiling: %% takes %% ns per call, which exceeds the threshold of %% ns.%%",
+                        m.methodName, nanos, callThresholdNanos, unknown));
+            }
+        }
+        else if (m.nanos > fieldThresholdNanos) {
+            fail(Formatter.of("Cost profiling: field %% adds %% ns to each call of %%, which exceeds the field threshold of %% ns.%%",
+                    m.fieldName, nanos, m.methodName, fieldThresholdNanos, unknown));
+        }
+    }
+
+    private static String format(String format, double nanos) {
+        return String.format(Locale.ROOT, format, nanos);
+    }
+
+    /**
+     * The source of the time, so that tests can control it.
+     */
+    interface Clock {
+        long nanoTime();
+    }
+
+    private static final class Measurement {
+        private final String fieldName;
+        private final String methodName;
+        private final double nanos;
+
+        public Measurement(String fieldName, String methodName, double nanos) {
+            this.fieldName = fieldName;
+            this.methodName = methodName;
+            this.nanos = Math.max(0, nanos);
+        }
+    }
+}
@@ -18,11 +18,15 @@ package nl.jqno.equalsverifier;
 import nl.jqno.equalsverifier.internal.ClassAccessor;
 import nl.jqno.equalsverifier.internal.FieldIterable;
 import nl.jqno.equalsverifier.internal.Formatter;
+import nl.jqno.equalsverifier.internal.StaticFieldSnapshot;
 import nl.jqno.equalsverifier.internal.exceptions.MessagingException;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code EqualsVerifier} can be used in unit tests to verify whether the
@@ -110,7 +114,6 @@ public final class EqualsVerifier<T> {
      */
     private EqualsVerifier(Configuration<T> config) {
         this.config = config;
-        JavaApiPrefabValues.addTo(config.getPrefabValues());
     }
 
     /**
@@ -124,6 +127,27 @@ public final class EqualsVerifier<T> {
         return new EqualsVerifier<>(config);
     }
 
+    /**
+     * Starts preparing EqualsVerifier for use on a background thread, so
+     * that the first verification in the JVM doesn't have to wait for
+     * classes to load or for metadata to be read.
+     *
+     * Without arguments, only EqualsVerifier itself and the libraries it
+     * uses are prepared. Each given type is also initialized, and its fields
+     * and annotations are read. No instances of it are created, and its
+     * {@code equals} and {@code hashCode} methods are not called.
+     * Verifications can start before the warm-up is done.
+     *
+     * @param types The classes that are going to be verified.
+     * @return A {@link Future} that completes when the warm-up is done. It
+     *          fails if one of the types couldn't be prepared; a
+     *          verification of such a type will give the details.
+     * @throws NullPointerException If one of the types is null.
+     */
+    public static Future<?> warmUp(Class<?>... types) {
+        return WarmUp.start(types);
+    }
+
     /**
      * Factory method. Asks for a list of equal, but not identical, instances
      * of T.
@@ -160,6 +184,27 @@ public final class EqualsVerifier<T> {
         return new RelaxedEqualsVerifierHelper<>(type, examples);
     }
 
+    /**
+     * Factory method. Asks for a collection of equal, but not identical,
+     * instances of T.
+     *
+     * Works like {@link #forRelaxedEqualExamples(Object, Object, Object...)},
+     * but is more convenient when there are many examples, for instance
+     * when they are generated from test fixtures. The examples are copied
+     * into a list, because the verification walks them more than once.
+     *
+     * @param examples Two or more instances of T, all of which are equal, but
+     *          not identical, to one another.
+     */
+    public static <T> RelaxedEqualsVerifierHelper<T> forRelaxedEqualExamples(Iterable<T> examples) {
+        List<T> list = buildListOfAtLeast(2, examples);
+
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>)list.get(0).getClass();
+
+        return new RelaxedEqualsVerifierHelper<>(type, list);
+    }
+
     /**
      * Suppresses warnings given by {@code EqualsVerifier}. See {@link Warning}
      * to see what warnings can be suppressed.
@@ -199,6 +244,7 @@ public final class EqualsVerifier<T> {
             throw new IllegalArgumentException("Both values are equal.");
         }
         config.getPrefabValues().addFactory(otherType, red, black);
+        config = config.withCustomPrefabValues();
         return this;
     }
 
@@ -342,6 +388,213 @@ public final class EqualsVerifier<T> {
         return this;
     }
 
+    /**
+     * Signals that, in addition to the contract, the quality of T's
+     * {@code hashCode} should be analysed.
+     *
+     * EqualsVerifier will generate many unequal instances of T, and fail if
+     * their hashCodes would perform poorly as keys in a {@link HashMap} or a
+     * {@link java.util.concurrent.ConcurrentHashMap}: if too many of them
+     * collide, if they would occupy too few buckets because the low bits of
+     * the hashCodes carry too little information, or if changing a single
+     * field often leaves the hashCode unchanged.
+     *
+     * @return {@code this}, for easy method chaining.
+     */
+    public EqualsVerifier<T> withHashQualityAnalysis() {
+        config = config.withHashQualityAnalysis();
+        return this;
+    }
+
+    /**
+     * Signals that, in addition to the contract, the cost of T's
+     * {@code equals} and {@code hashCode} should be measured.
+     *
+     * EqualsVerifier will time both methods in a warmed-up loop, and
+     * attribute their cost to individual fields by leaving out one field at a
+     * time. It fails if a single call costs more than {@code callThreshold},
+     * or if a single field adds more than {@code fieldThreshold} to a call.
+     *
+     * Measuring a field takes about a third of a second. For classes with
+     * many fields, each measurement is shortened, so that all fields together
+     * take about a second.
+     *
+     * @param callThreshold The maximum cost of a single call to
+     *          {@code equals} or {@code hashCode}.
+     * @param fieldThreshold The maximum cost that a single field may add to
+     *          a call to {@code equals} or {@code hashCode}.
+     * @param unit The unit of both thresholds.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If one of the thresholds is not
+     *          positive.
+     */
+    public EqualsVerifier<T> withCostProfiling(long callThreshold, long fieldThreshold, TimeUnit unit) {
+        return withCostProfiling(callThreshold, fieldThreshold, unit, null);
+    }
+
+    /**
+     * Like {@link #withCostProfiling(long, long, TimeUnit)}, but also writes
+     * the measurements to {@code report}, even if none of them exceeds its
+     * threshold.
+     *
+     * The report is in CSV format, with a header line and the columns
+     * {@code class}, {@code field}, {@code method} and {@code nanos}. The
+     * {@code field} column is empty for the cost of the method as a whole.
+     *
+     * @param callThreshold The maximum cost of a single call to
+     *          {@code equals} or {@code hashCode}.
+     * @param fieldThreshold The maximum cost that a single field may add to
+     *          a call to {@code equals} or {@code hashCode}.
+     * @param unit The unit of both thresholds.
+     * @param report Where to write the measurements. May be null.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If one of the thresholds is not
+     *          positive.
+     */
+    public EqualsVerifier<T> withCostProfiling(long callThreshold, long fieldThreshold, TimeUnit unit,
+            Appendable report) {
+        long callThresholdNanos = unit.toNanos(callThreshold);
+        long fieldThresholdNanos = unit.toNanos(fieldThreshold);
+        if (callThresholdNanos <= 0 || fieldThresholdNanos <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive.");
+        }
+        config = config.withCostProfiling(callThresholdNanos, fieldThresholdNanos, report);
+        return this;
+    }
+
+    /**
+     * Signals that, in addition to the contract, EqualsVerifier should check
+     * that T's {@code equals} and {@code hashCode} don't allocate memory.
+     *
+     * EqualsVerifier fails if {@code hashCode} calls
+     * {@link java.util.Objects#hash(Object...)}, which allocates an array for
+     * its varargs on every call. Also, if the JVM can count the bytes that a
+     * thread allocates, EqualsVerifier calls both methods repeatedly and
+     * fails if they allocate memory, for example by boxing primitives or by
+     * creating iterators.
+     *
+     * @return {@code this}, for easy method chaining.
+     */
+    public EqualsVerifier<T> withAllocationCheck() {
+        config = config.withAllocationCheck();
+        return this;
+    }
+
+    /**
+     * Signals that EqualsVerifier should spend at most {@code budget} on
+     * checking T's fields one by one.
+     *
+     * The checks on T's signature and on the given examples always run.
+     * After that, EqualsVerifier checks the fields of T one at a time, until
+     * all fields are checked or the budget runs out. Each verification of T
+     * in the same JVM continues with the fields that the previous one didn't
+     * get to, so that a series of verifications checks all of them. If a
+     * check fails, the error message contains the seed that selected the
+     * fields, so the failure can be reproduced with
+     * {@link #withTimeBudget(long, TimeUnit, long)}. Use
+     * {@link #withTimeBudget(long, TimeUnit, Appendable)} to get the same
+     * description when the verification passes.
+     *
+     * @param budget The time to spend on checking fields.
+     * @param unit The unit of {@code budget}.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If {@code budget} is not positive.
+     */
+    public EqualsVerifier<T> withTimeBudget(long budget, TimeUnit unit) {
+        return withTimeBudget(budget, unit, null, null);
+    }
+
+    /**
+     * Like {@link #withTimeBudget(long, TimeUnit)}, but also writes a
+     * description of the checked fields and the seed that selected them to
+     * {@code report}, whether the verification passes or fails.
+     *
+     * The description also contains the seed that continues with the fields
+     * that weren't checked. Pass it to
+     * {@link #withTimeBudget(long, TimeUnit, long, Appendable)} in the next
+     * run to check all fields over a series of runs in separate JVMs.
+     *
+     * @param budget The time to spend on checking fields.
+     * @param unit The unit of {@code budget}.
+     * @param report Where to write the description. May be null.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If {@code budget} is not positive.
+     */
+    public EqualsVerifier<T> withTimeBudget(long budget, TimeUnit unit, Appendable report) {
+        return withTimeBudget(budget, unit, null, report);
+    }
+
+    /**
+     * Like {@link #withTimeBudget(long, TimeUnit)}, but starts checking at
+     * the field selected by {@code seed}, instead of where the previous
+     * verification of T left off. Use the seed from an error message to check
+     * the same fields again.
+     *
+     * Consecutive seeds don't check consecutive selections of fields; to
+     * continue where a previous run stopped, use the next seed that it
+     * reports.
+     *
+     * @param budget The time to spend on checking fields.
+     * @param unit The unit of {@code budget}.
+     * @param seed Determines the first field to check.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If {@code budget} is not positive.
+     */
+    public EqualsVerifier<T> withTimeBudget(long budget, TimeUnit unit, long seed) {
+        return withTimeBudget(budget, unit, Long.valueOf(seed), null);
+    }
+
+    /**
+     * Like {@link #withTimeBudget(long, TimeUnit, long)}, but also writes a
+     * description of the checked fields to {@code report}, as
+     * {@link #withTimeBudget(long, TimeUnit, Appendable)} does.
+     *
+     * @param budget The time to spend on checking fields.
+     * @param unit The unit of {@code budget}.
+     * @param seed Determines the first field to check.
+     * @param report Where to write the description. May be null.
+     * @return {@code this}, for easy method chaining.
+     * @throws IllegalArgumentException If {@code budget} is not positive.
+     */
+    public EqualsVerifier<T> withTimeBudget(long budget, TimeUnit unit, long seed, Appendable report) {
+        return withTimeBudget(budget, unit, Long.valueOf(seed), report);
+    }
+
+    private EqualsVerifier<T> withTimeBudget(long budget, TimeUnit unit, Long seed, Appendable report) {
+        long budgetNanos = unit.toNanos(budget);
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive.");
+        }
+        config = config.withTimeBudget(budgetNanos, seed, report);
+        return this;
+    }
+
+    /**
+     * Signals that EqualsVerifier should skip the verification if an
+     * identical verification has passed before, and remember it if it
+     * passes now.
+     *
+     * Passed verifications are recorded in {@code file}, by a fingerprint of
+     * the bytecode of T, its superclasses and the types of its fields, and
+     * of the configuration of the verification. If any of these change, T
+     * is verified again. The file can be shared by tests that run
+     * concurrently in several JVMs.
+     *
+     * Verifications that use examples, prefab values, a cached hashCode, a
+     * time budget or a cost report are never skipped.
+     *
+     * @param file The file in which to record passed verifications. It is
+     *          created if it doesn't exist.
+     * @return {@code this}, for easy method chaining.
+     */
+    public EqualsVerifier<T> withResultCache(File file) {
+        if (file == null) {
+            throw new NullPointerException("File is null.");
+        }
+        config = config.withResultCache(file);
+        return this;
+    }
+
     /**
      * Performs the verification of the contracts for {@code equals} and
      * {@code hashCode}.
@@ -378,17 +631,41 @@ public final class EqualsVerifier<T> {
             return;
         }
 
-        verifyWithoutExamples();
-        ensureUnequalExamples();
-        verifyWithExamples();
+        ResultCache resultCache = null;
+        String fingerprint = null;
+        if (config.getResultCache() != null) {
+            resultCache = new ResultCache(config.getResultCache());
+            fingerprint = resultCache.fingerprint(config);
+            if (fingerprint != null && resultCache.contains(fingerprint)) {
+                return;
+            }
+        }
+
+        VerificationPlan<T> plan = VerificationPlan.of(config);
+        List<Field> mutatedStaticFields = plan.getMutatedStaticFields();
+        StaticFieldSnapshot snapshot = mutatedStaticFields.isEmpty() ? null : StaticFieldSnapshot.lockAndTake(mutatedStaticFields);
+        try {
+            verifyWithoutExamples(plan);
+            plan = ensureUnequalExamples(plan);
+            verifyWithExamples(plan);
+        }
+        finally {
+            if (snapshot != null) {
+                snapshot.restoreAndUnlock();
+            }
+        }
+
+        if (fingerprint != null) {
+            resultCache.record(fingerprint);
+        }
     }
 
-    private void verifyWithoutExamples() {
+    private void verifyWithoutExamples(VerificationPlan<T> plan) {
         Checker[] checkers = {
-            new SignatureChecker<>(config),
-            new AbstractDelegationChecker<>(config),
-            new NullChecker<>(config),
-            new CachedHashCodeChecker<>(config)
+            new SignatureChecker<>(plan),
+            new AbstractDelegationChecker<>(plan),
+            new NullChecker<>(plan),
+            new CachedHashCodeChecker<>(plan)
         };
 
         for (Checker checker : checkers) {
@@ -396,30 +673,40 @@ public final class EqualsVerifier<T> {
         }
     }
 
-    private void ensureUnequalExamples() {
-        if (config.getUnequalExamples().size() > 0) {
-            return;
+    private VerificationPlan<T> ensureUnequalExamples(VerificationPlan<T> plan) {
+        if (plan.getUnequalExamples().size() > 0) {
+            return plan;
         }
 
-        TypeTag tag = config.getTypeTag();
-        ClassAccessor<T> classAccessor = config.createClassAccessor();
+        TypeTag tag = plan.getTypeTag();
+        ClassAccessor<T> classAccessor = plan.getClassAccessor();
 
         List<T> unequalExamples = new ArrayList<>();
         unequalExamples.add(classAccessor.getRedObject(tag));
         unequalExamples.add(classAccessor.getBlackObject(tag));
-        config = config.withUnequalExamples(unequalExamples);
+        return plan.withUnequalExamples(unequalExamples);
     }
 
-    private void verifyWithExamples() {
+    private void verifyWithExamples(VerificationPlan<T> plan) {
         Checker[] checkers = {
-            new ExamplesChecker<>(config),
-            new HierarchyChecker<>(config),
-            new FieldsChecker<>(config)
+            new ExamplesChecker<>(plan),
+            new HierarchyChecker<>(plan),
+            new FieldsChecker<>(plan)
         };
 
         for (Checker checker : checkers) {
             checker.check();
         }
+
+        if (plan.isHashQualityAnalysis()) {
+            new HashQualityChecker<>(plan).check();
+        }
+        if (plan.isCostProfiling()) {
+            new CostProfilingChecker<>(plan).check();
+        }
+        if (plan.isAllocationCheck()) {
+            new AllocationChecker<>(plan).check();
+        }
     }
 
     @SafeVarargs
@@ -464,6 +751,25 @@ public final class EqualsVerifier<T> {
         }
     }
 
+    private static <T> List<T> buildListOfAtLeast(int minimum, Iterable<T> examples) {
+        if (examples == null) {
+            throw new IllegalArgumentException("Examples are null.");
+        }
+
+        List<T> result = new ArrayList<>();
+        for (T e : examples) {
+            if (e == null) {
+                throw new IllegalArgumentException("One of the examples is null.");
+            }
+            result.add(e);
+        }
+        if (result.size() < minimum) {
+            throw new IllegalArgumentException("Not enough examples: " + result.size() + " given, " + minimum + " needed.");
+        }
+
+        return result;
+    }
+
     private static <T> boolean listContainsDuplicates(List<T> list) {
         return list.size() != new HashSet<>(list).size();
     }
@@ -516,12 +822,34 @@ public final class EqualsVerifier<T> {
          */
         @SafeVarargs
         public final EqualsVerifier<T> andUnequalExamples(T first, T... more) {
-            List<T> unequalExamples = buildListOfAtLeastOne(first, more);
+            return withUnequalExamples(buildListOfAtLeastOne(first, more));
+        }
+
+        /**
+         * Asks for a collection of unequal instances of T and subsequently
+         * returns a fully constructed instance of {@link EqualsVerifier}.
+         * The examples are copied into a list, because the verification
+         * walks them more than once.
+         *
+         * @param examples One or more instances of T, all of which are
+         *          unequal to one another and to the previously supplied
+         *          equal examples. May also contain instances of subclasses
+         *          of T.
+         * @return An instance of {@link EqualsVerifier}.
+         */
+        public EqualsVerifier<T> andUnequalExamples(Iterable<T> examples) {
+            return withUnequalExamples(buildListOfAtLeast(1, examples));
+        }
+
+        private EqualsVerifier<T> withUnequalExamples(List<T> unequalExamples) {
             if (listContainsDuplicates(unequalExamples)) {
                 throw new IllegalArgumentException("Two objects are equal to each other.");
             }
+            // Like listContainsDuplicates, this looks the examples up by
+            // hashCode, rather than comparing every pair.
+            Set<T> equals = new HashSet<>(equalExamples);
             for (T example : unequalExamples) {
-                if (equalExamples.contains(example)) {
+                if (equals.contains(example)) {
                     throw new IllegalArgumentException("An equal example also appears as unequal example.");
                 }
             }
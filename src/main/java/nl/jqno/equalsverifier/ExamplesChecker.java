@@ -22,8 +22,10 @@ import nl.jqno.equalsverifier.internal.ObjectAccessor;
 import nl.jqno.equalsverifier.internal.exceptions.AssertionException;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 import static nl.jqno.equalsverifier.internal.Assert.*;
 
@@ -33,24 +35,31 @@ class ExamplesChecker<T> implements Checker {
     private final List<T> unequalExamples;
     private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
 
-    public ExamplesChecker(Configuration<T> config) {
-        this.type = config.getType();
-        this.equalExamples = config.getEqualExamples();
-        this.unequalExamples = config.getUnequalExamples();
-        this.cachedHashCodeInitializer = config.getCachedHashCodeInitializer();
+    public ExamplesChecker(VerificationPlan<T> plan) {
+        this.type = plan.getType();
+        this.equalExamples = plan.getEqualExamples();
+        this.unequalExamples = plan.getUnequalExamples();
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
     }
 
     @Override
     public void check() {
         checkPreconditions();
 
+        // Relaxed equality needn't be transitive, so every pair is compared.
+        // The field values of each example are read only once, though.
+        List<List<Object>> fieldValues = new ArrayList<>(equalExamples.size());
+        for (T example : equalExamples) {
+            fieldValues.add(fieldValuesOf(example));
+        }
+
         for (int i = 0; i < equalExamples.size(); i++) {
             T reference = equalExamples.get(i);
             checkSingle(reference);
 
             for (int j = i + 1; j < equalExamples.size(); j++) {
                 T other = equalExamples.get(j);
-                checkEqualButNotIdentical(reference, other);
+                checkEqualButNotIdentical(reference, fieldValues.get(i), other, fieldValues.get(j));
                 checkHashCode(reference, other);
             }
         }
@@ -61,17 +70,19 @@ class ExamplesChecker<T> implements Checker {
     }
 
     private void checkPreconditions() {
+        Map<T, Boolean> seen = new IdentityHashMap<>();
         for (T example : equalExamples) {
             assertTrue(Formatter.of("Precondition:\n  %%\nand\n  %%\nare of different classes", equalExamples.get(0), example),
                     type.isAssignableFrom(example.getClass()));
+            assertTrue(Formatter.of("Precondition: the same object appears twice:\n  %%", example),
+                    seen.put(example, Boolean.TRUE) == null);
         }
     }
 
-    private void checkEqualButNotIdentical(T reference, T other) {
-        assertFalse(Formatter.of("Precondition: the same object appears twice:\n  %%", reference),
-                reference == other);
+    private void checkEqualButNotIdentical(T reference, List<Object> referenceFieldValues, T other, List<Object> otherFieldValues) {
         assertFalse(Formatter.of("Precondition: two identical objects appear:\n  %%", reference),
-                isIdentical(reference, other));
+                reference.getClass() == other.getClass() && referenceFieldValues != null &&
+                        referenceFieldValues.equals(otherFieldValues));
         assertTrue(Formatter.of("Precondition: not all equal objects are equal:\n  %%\nand\n  %%", reference, other),
                 reference.equals(other));
     }
@@ -134,19 +145,18 @@ class ExamplesChecker<T> implements Checker {
         assertEquals(f, referenceHashCode, copyHashCode);
     }
 
-    private boolean isIdentical(T reference, T other) {
-        for (Field field : FieldIterable.of(reference.getClass())) {
+    private List<Object> fieldValuesOf(T example) {
+        List<Object> result = new ArrayList<>();
+        for (Field field : FieldIterable.of(example.getClass())) {
             try {
                 field.setAccessible(true);
-                if (!Objects.equals(field.get(reference), field.get(other))) {
-                    return false;
-                }
+                result.add(field.get(example));
             }
             catch (IllegalArgumentException | IllegalAccessException e) {
-                return false;
+                return null;
             }
         }
 
-        return true;
+        return result;
     }
 }
@@ -26,14 +26,28 @@ import java.lang.reflect.Field;
 class FieldInspector<T> {
     private final ClassAccessor<T> classAccessor;
     private final TypeTag typeTag;
+    private final Iterable<Field> fields;
 
     public FieldInspector(ClassAccessor<T> classAccessor, TypeTag typeTag) {
+        this(classAccessor, typeTag, FieldIterable.of(classAccessor.getType()));
+    }
+
+    public FieldInspector(VerificationPlan<T> plan) {
+        this(plan, plan.getRawFields());
+    }
+
+    public FieldInspector(VerificationPlan<T> plan, Iterable<Field> fields) {
+        this(plan.getClassAccessor(), plan.getTypeTag(), fields);
+    }
+
+    private FieldInspector(ClassAccessor<T> classAccessor, TypeTag typeTag, Iterable<Field> fields) {
         this.classAccessor = classAccessor;
         this.typeTag = typeTag;
+        this.fields = fields;
     }
 
     public void check(FieldCheck check) {
-        for (Field field : FieldIterable.of(classAccessor.getType())) {
+        for (Field field : fields) {
             ObjectAccessor<T> reference = classAccessor.getRedAccessor(typeTag);
             ObjectAccessor<T> changed = classAccessor.getRedAccessor(typeTag);
 
@@ -42,7 +56,7 @@ class FieldInspector<T> {
     }
 
     public void checkWithNull(FieldCheck check) {
-        for (Field field : FieldIterable.of(classAccessor.getType())) {
+        for (Field field : fields) {
             ObjectAccessor<T> reference = classAccessor.getDefaultValuesAccessor(typeTag);
             ObjectAccessor<T> changed = classAccessor.getDefaultValuesAccessor(typeTag);
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.Formatter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the fields that {@link FieldsChecker} checks when a verification
+ * has a time budget.
+ *
+ * Fields are checked in the order in which they are declared, starting at
+ * an offset that is derived from a seed and wrapping around, until all
+ * fields are checked or the budget runs out. At least one field is always
+ * checked.
+ *
+ * If no seed is given, each verification of a class starts where the
+ * previous verification of that class in the same JVM stopped, so that
+ * consecutive verifications together check all fields. The first seed in a
+ * JVM is picked at random.
+ *
+ * An explicit seed always selects the same starting field. Consecutive
+ * seeds move that field by only one, so they don't cover all fields unless
+ * each verification checks a single field. To continue across JVMs, pass the
+ * next seed from {@link #describe()}, which is the seed plus the number of
+ * fields that were checked.
+ */
+final class FieldRotation {
+    private static final ClassValue<AtomicLong> NEXT_SEED = new ClassValue<AtomicLong>() {
+        @Override
+        protected AtomicLong computeValue(Class<?> type) {
+            return new AtomicLong(System.nanoTime() & Long.MAX_VALUE);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<Field> fields;
+    private final long seed;
+    private final boolean rotating;
+    private final long budgetNanos;
+    private final long startNanos;
+    private final int offset;
+    private int checked = 0;
+
+    private FieldRotation(Class<?> type, List<Field> fields, long seed, boolean rotating, long budgetNanos) {
+        this.type = type;
+        this.fields = fields;
+        this.seed = seed;
+        this.rotating = rotating;
+        this.budgetNanos = budgetNanos;
+        this.startNanos = System.nanoTime();
+        this.offset = fields.isEmpty() ? 0 : (int)(((seed % fields.size()) + fields.size()) % fields.size());
+    }
+
+    /**
+     * Factory method.
+     *
+     * @param plan The verification whose fields should be rotated. Must have
+     *          a time budget.
+     * @return A rotation that hasn't checked any fields yet.
+     */
+    public static FieldRotation start(VerificationPlan<?> plan) {
+        List<Field> fields = plan.getRawFields();
+        Long seed = plan.getTimeBudgetSeed();
+        if (seed == null) {
+            long next = NEXT_SEED.get(plan.getType()).get();
+            return new FieldRotation(plan.getType(), fields, next, true, plan.getTimeBudgetNanos());
+        }
+        return new FieldRotation(plan.getType(), fields, seed, false, plan.getTimeBudgetNanos());
+    }
+
+    /**
+     * @return True if there is a field left to check, and there is time left
+     *          to check it.
+     */
+    public boolean hasNext() {
+        if (checked >= fields.size()) {
+            return false;
+        }
+        return checked == 0 || System.nanoTime() - startNanos < budgetNanos;
+    }
+
+    /**
+     * @return The next field to check.
+     */
+    public Field next() {
+        Field result = fields.get((offset + checked) % fields.size());
+        checked++;
+        return result;
+    }
+
+    /**
+     * Makes the next verification of the same class without a seed start at
+     * the first field that this rotation didn't check.
+     */
+    public void finish() {
+        if (rotating) {
+            NEXT_SEED.get(type).set(seed + checked);
+        }
+    }
+
+    /**
+     * @return A description of the seed and the fields that were checked, so
+     *          that the same selection can be checked again, and of the seed
+     *          that continues with the next fields.
+     */
+    public Formatter describe() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < checked; i++) {
+            names.add(fields.get((offset + i) % fields.size()).getName());
+        }
+        return Formatter.of("Time budget: checked %% of %% fields %%, starting from seed %%." +
+                "\nUse withTimeBudget with this seed to check the same fields again," +
+                " or with seed %% to continue with the next fields.",
+                checked, fields.size(), names, seed, seed + checked);
+    }
+}
@@ -17,15 +17,15 @@ package nl.jqno.equalsverifier;
 
 import nl.jqno.equalsverifier.FieldInspector.FieldCheck;
 import nl.jqno.equalsverifier.internal.*;
-import nl.jqno.equalsverifier.internal.annotations.NonnullAnnotationChecker;
 import nl.jqno.equalsverifier.internal.annotations.SupportedAnnotations;
+import nl.jqno.equalsverifier.internal.exceptions.AssertionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.util.EnumSet;
-import java.util.Set;
+import java.util.Collections;
 
 import static nl.jqno.equalsverifier.internal.Assert.*;
 
@@ -33,22 +33,55 @@ class FieldsChecker<T> implements Checker {
     private final TypeTag typeTag;
     private final ClassAccessor<T> classAccessor;
     private final PrefabValues prefabValues;
-    private final EnumSet<Warning> warningsToSuppress;
-    private final Set<String> ignoredFields;
+    private final VerificationPlan<T> plan;
     private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
-
-    public FieldsChecker(Configuration<T> config) {
-        this.typeTag = config.getTypeTag();
-        this.classAccessor = config.createClassAccessor();
-        this.prefabValues = config.getPrefabValues();
-        this.warningsToSuppress = config.getWarningsToSuppress();
-        this.ignoredFields = config.getIgnoredFields();
-        this.cachedHashCodeInitializer = config.getCachedHashCodeInitializer();
+    private final TransitivityFieldCheck transitivityFieldCheck = new TransitivityFieldCheck();
+
+    public FieldsChecker(VerificationPlan<T> plan) {
+        this.typeTag = plan.getTypeTag();
+        this.classAccessor = plan.getClassAccessor();
+        this.prefabValues = plan.getPrefabValues();
+        this.plan = plan;
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
     }
 
     @Override
     public void check() {
-        FieldInspector<T> inspector = new FieldInspector<>(classAccessor, typeTag);
+        if (!plan.isTimeBudgeted()) {
+            check(plan.getRawFields());
+            return;
+        }
+
+        FieldRotation rotation = FieldRotation.start(plan);
+        try {
+            while (rotation.hasNext()) {
+                check(Collections.singletonList(rotation.next()));
+            }
+        }
+        catch (AssertionException e) {
+            throw new AssertionException(Formatter.of("%%\n%%", e.getMessage(), rotation.describe().format()), e.getCause());
+        }
+        finally {
+            rotation.finish();
+            writeReport(rotation);
+        }
+    }
+
+    private void writeReport(FieldRotation rotation) {
+        Appendable report = plan.getTimeBudgetReport();
+        if (report == null) {
+            return;
+        }
+        try {
+            report.append(rotation.describe().format()).append('\n');
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not write time budget report.", e);
+        }
+    }
+
+    private void check(Iterable<Field> fields) {
+        FieldInspector<T> inspector = new FieldInspector<>(plan, fields);
 
         if (!classAccessor.isEqualsInheritedFromObject()) {
             inspector.check(new ArrayFieldCheck());
@@ -60,27 +93,27 @@ class FieldsChecker<T> implements Checker {
             inspector.check(new MutableStateFieldCheck());
         }
 
-        if (!warningsToSuppress.contains(Warning.TRANSIENT_FIELDS)) {
+        if (!plan.isSuppressed(Warning.TRANSIENT_FIELDS)) {
             inspector.check(new TransientFieldsCheck());
         }
 
         inspector.check(new SignificantFieldCheck(false));
         inspector.check(new SymmetryFieldCheck());
-        inspector.check(new TransitivityFieldCheck());
+        inspector.check(transitivityFieldCheck);
 
-        if (!warningsToSuppress.contains(Warning.NULL_FIELDS)) {
+        if (!plan.isSuppressed(Warning.NULL_FIELDS)) {
             inspector.checkWithNull(new SignificantFieldCheck(true));
         }
     }
 
     private boolean ignoreMutability() {
-        return warningsToSuppress.contains(Warning.NONFINAL_FIELDS) ||
+        return plan.isSuppressed(Warning.NONFINAL_FIELDS) ||
                 classAccessor.hasAnnotation(SupportedAnnotations.IMMUTABLE) ||
                 classAccessor.hasAnnotation(SupportedAnnotations.ENTITY);
     }
 
     private boolean isCachedHashCodeField(FieldAccessor accessor) {
-        return accessor.getFieldName().equals(cachedHashCodeInitializer.getCachedHashCodeFieldName());
+        return plan.fieldFor(accessor.getField()).isCachedHashCodeField();
     }
 
     private class SymmetryFieldCheck implements FieldCheck {
@@ -104,11 +137,15 @@ class FieldsChecker<T> implements Checker {
     }
 
     private class TransitivityFieldCheck implements FieldCheck {
+        private Object b2;
+
         @Override
         public void execute(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
             Object a1 = referenceAccessor.getObject();
             Object b1 = buildB1(changedAccessor);
-            Object b2 = buildB2(a1, referenceAccessor.getField());
+            if (b2 == null) {
+                b2 = buildB2(a1);
+            }
 
             boolean x = a1.equals(b1);
             boolean y = b1.equals(b2);
@@ -127,14 +164,13 @@ class FieldsChecker<T> implements Checker {
             return accessor.getObject();
         }
 
-        private Object buildB2(Object a1, Field referenceField) {
+        private Object buildB2(Object a1) {
+            // b2 has every field changed with respect to a1. Since a1 is the same for each
+            // field under test, so is b2, which keeps building it linear in the number of fields.
             Object result = ObjectAccessor.of(a1).copy();
             ObjectAccessor<?> objectAccessor = ObjectAccessor.of(result);
-            objectAccessor.fieldAccessorFor(referenceField).changeField(prefabValues, typeTag);
-            for (Field field : FieldIterable.of(result.getClass())) {
-                if (!field.equals(referenceField)) {
-                    objectAccessor.fieldAccessorFor(field).changeField(prefabValues, typeTag);
-                }
+            for (Field field : plan.getRawFields()) {
+                objectAccessor.fieldAccessorFor(field).changeField(prefabValues, typeTag);
             }
             return result;
         }
@@ -167,7 +203,7 @@ class FieldsChecker<T> implements Checker {
             Object changed = changedAccessor.getObject();
             String fieldName = referenceAccessor.getFieldName();
 
-            if (referenceAccessor.get() == null && NonnullAnnotationChecker.fieldIsNonnull(classAccessor, referenceAccessor.getField())) {
+            if (referenceAccessor.get() == null && plan.fieldFor(referenceAccessor.getField()).isNonnull()) {
                 return;
             }
 
@@ -207,17 +243,11 @@ class FieldsChecker<T> implements Checker {
         private void assertFieldShouldBeIgnored(boolean equalToItself, boolean equalsChanged,
                     FieldAccessor referenceAccessor, String fieldName) {
 
-            boolean allFieldsShouldBeUsed = !warningsToSuppress.contains(Warning.ALL_FIELDS_SHOULD_BE_USED) &&
-                    !warningsToSuppress.contains(Warning.IDENTICAL_COPY_FOR_VERSIONED_ENTITY);
-
-            boolean fieldIsEligible = !referenceAccessor.fieldIsStatic() &&
-                    !referenceAccessor.fieldIsTransient() &&
-                    !referenceAccessor.fieldIsSingleValueEnum();
-
-            if (allFieldsShouldBeUsed && fieldIsEligible) {
+            VerificationPlan.PlannedField planned = plan.fieldFor(referenceAccessor.getField());
+            if (planned.isSignificanceChecked()) {
                 assertTrue(Formatter.of("Significant fields: equals does not use %%.", fieldName), equalToItself);
 
-                boolean fieldShouldBeIgnored = ignoredFields.contains(fieldName);
+                boolean fieldShouldBeIgnored = planned.isIgnored();
                 assertTrue(Formatter.of("Significant fields: equals does not use %%, or it is stateless.", fieldName),
                         fieldShouldBeIgnored || equalsChanged);
                 assertTrue(Formatter.of("Significant fields: equals should not use %%, but it does.", fieldName),
@@ -318,7 +348,7 @@ class FieldsChecker<T> implements Checker {
     private class ReflexivityFieldCheck implements FieldCheck {
         @Override
         public void execute(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
-            if (warningsToSuppress.contains(Warning.IDENTICAL_COPY_FOR_VERSIONED_ENTITY)) {
+            if (plan.isSuppressed(Warning.IDENTICAL_COPY_FOR_VERSIONED_ENTITY)) {
                 return;
             }
 
@@ -335,7 +365,7 @@ class FieldsChecker<T> implements Checker {
 
         private void checkValueReflexivity(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
             Class<?> fieldType = changedAccessor.getFieldType();
-            if (warningsToSuppress.contains(Warning.REFERENCE_EQUALITY)) {
+            if (plan.isSuppressed(Warning.REFERENCE_EQUALITY)) {
                 return;
             }
             if (fieldType.equals(Object.class) || fieldType.isInterface()) {
@@ -367,8 +397,8 @@ class FieldsChecker<T> implements Checker {
 
         private void checkNullReflexivity(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
             boolean fieldIsPrimitive = referenceAccessor.fieldIsPrimitive();
-            boolean fieldIsNonNull = NonnullAnnotationChecker.fieldIsNonnull(classAccessor, referenceAccessor.getField());
-            boolean ignoreNull = fieldIsNonNull || warningsToSuppress.contains(Warning.NULL_FIELDS);
+            boolean fieldIsNonNull = plan.fieldFor(referenceAccessor.getField()).isNonnull();
+            boolean ignoreNull = fieldIsNonNull || plan.isSuppressed(Warning.NULL_FIELDS);
             if (fieldIsPrimitive || !ignoreNull) {
                 referenceAccessor.defaultField();
                 changedAccessor.defaultField();
@@ -380,7 +410,7 @@ class FieldsChecker<T> implements Checker {
             Object left = referenceAccessor.getObject();
             Object right = changedAccessor.getObject();
 
-            if (warningsToSuppress.contains(Warning.IDENTICAL_COPY)) {
+            if (plan.isSuppressed(Warning.IDENTICAL_COPY)) {
                 assertFalse(Formatter.of("Unnecessary suppression: %%. Two identical copies are equal.", Warning.IDENTICAL_COPY.toString()),
                         left.equals(right));
             }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.*;
+import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static nl.jqno.equalsverifier.internal.Assert.fail;
+
+/**
+ * Measures how well the hashCodes of a class would be distributed in a
+ * {@link HashMap} or {@link java.util.concurrent.ConcurrentHashMap}.
+ *
+ * Instances are generated by giving each field one of several mutually
+ * unequal values, taken from {@link PrefabValues#giveValues(TypeTag)}. When
+ * there are few enough combinations, all of them are generated; otherwise, a
+ * fixed pseudo-random selection of them. Fields whose stream of values is
+ * empty keep their red value in every instance.
+ */
+class HashQualityChecker<T> implements Checker {
+    private static final int MAX_SAMPLES = 512;
+    private static final int MAX_VALUES_PER_FIELD = 8;
+    private static final int MAX_SAMPLES_PER_FIELD = 32;
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final double MAX_COLLISION_RATE = 0.1;
+    private static final double MIN_BUCKET_OCCUPANCY = 0.5;
+    private static final int MIN_INSTANCES_FOR_BUCKET_CHECK = 8;
+    private static final double MAX_UNCHANGED_RATE = 0.5;
+
+    private final VerificationPlan<T> plan;
+    private final TypeTag typeTag;
+    private final ClassAccessor<T> classAccessor;
+    private final PrefabValues prefabValues;
+    private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
+
+    public HashQualityChecker(VerificationPlan<T> plan) {
+        this.plan = plan;
+        this.typeTag = plan.getTypeTag();
+        this.classAccessor = plan.getClassAccessor();
+        this.prefabValues = plan.getPrefabValues();
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
+    }
+
+    @Override
+    public void check() {
+        if (classAccessor.isEqualsInheritedFromObject()) {
+            return;
+        }
+
+        List<Field> fields = new ArrayList<>();
+        List<List<Object>> values = new ArrayList<>();
+        for (Field field : variableFields()) {
+            List<Object> fieldValues = valuesOf(field);
+            if (!fieldValues.isEmpty()) {
+                fields.add(field);
+                values.add(fieldValues);
+            }
+        }
+        List<int[]> choices = chooseSamples(values);
+        List<T> samples = new ArrayList<>();
+        for (int[] choice : choices) {
+            samples.add(buildSample(fields, values, choice));
+        }
+
+        List<T> distinct = checkCollisions(samples);
+        checkBucketDistribution(distinct);
+        checkAvalanche(fields, values, choices, samples);
+    }
+
+    private List<Field> variableFields() {
+        List<Field> result = new ArrayList<>();
+        for (VerificationPlan.PlannedField planned : plan.getFields()) {
+            if (planned.canBeModifiedReflectively() && !planned.isStatic() && !planned.isCachedHashCodeField()) {
+                result.add(planned.getField());
+            }
+        }
+        return result;
+    }
+
+    private List<Object> valuesOf(Field field) {
+        List<Object> result = new ArrayList<>();
+        Iterator<Object> stream = prefabValues.giveValues(TypeTag.of(field, typeTag));
+        while (stream.hasNext() && result.size() < MAX_VALUES_PER_FIELD) {
+            result.add(stream.next());
+        }
+        return result;
+    }
+
+    private List<int[]> chooseSamples(List<List<Object>> values) {
+        long combinations = 1;
+        for (List<Object> v : values) {
+            combinations *= v.size();
+            if (combinations > MAX_SAMPLES) {
+                break;
+            }
+        }
+
+        List<int[]> result = new ArrayList<>();
+        if (combinations <= MAX_SAMPLES) {
+            for (int n = 0; n < combinations; n++) {
+                int[] choice = new int[values.size()];
+                int rest = n;
+                for (int i = 0; i < values.size(); i++) {
+                    choice[i] = rest % values.get(i).size();
+                    rest /= values.get(i).size();
+                }
+                result.add(choice);
+            }
+        }
+        else {
+            Random random = new Random(SEED);
+            for (int n = 0; n < MAX_SAMPLES; n++) {
+                int[] choice = new int[values.size()];
+                for (int i = 0; i < values.size(); i++) {
+                    choice[i] = random.nextInt(values.get(i).size());
+                }
+                result.add(choice);
+            }
+        }
+        return result;
+    }
+
+    private T buildSample(List<Field> fields, List<List<Object>> values, int[] choice) {
+        ObjectAccessor<T> accessor = classAccessor.getRedAccessor(typeTag);
+        for (int i = 0; i < fields.size(); i++) {
+            accessor.fieldAccessorFor(fields.get(i)).set(values.get(i).get(choice[i]));
+        }
+        return accessor.get();
+    }
+
+    private List<T> checkCollisions(List<T> samples) {
+        Map<Integer, List<T>> byHashCode = new LinkedHashMap<>();
+        for (T sample : samples) {
+            int hashCode = cachedHashCodeInitializer.getInitializedHashCode(sample);
+            List<T> representatives = byHashCode.get(hashCode);
+            if (representatives == null) {
+                representatives = new ArrayList<>();
+                byHashCode.put(hashCode, representatives);
+            }
+            if (!containsEqual(representatives, sample)) {
+                representatives.add(sample);
+            }
+        }
+
+        List<T> distinct = new ArrayList<>();
+        List<T> collidingExample = null;
+        for (List<T> representatives : byHashCode.values()) {
+            distinct.addAll(representatives);
+            if (representatives.size() > 1 && collidingExample == null) {
+                collidingExample = representatives;
+            }
+        }
+
+        int collisions = distinct.size() - byHashCode.size();
+        if (collisions > MAX_COLLISION_RATE * distinct.size()) {
+            fail(Formatter.of("Hash quality: %% of %% unequal instances share their hashCode with another instance." +
+                    "\nFor example, these objects all have hashCode %%:\n  %%",
+                    collisions, distinct.size(), cachedHashCodeInitializer.getInitializedHashCode(collidingExample.get(0)),
+                    collidingExample));
+        }
+        return distinct;
+    }
+
+    private boolean containsEqual(List<T> representatives, T sample) {
+        for (T representative : representatives) {
+            if (representative.equals(sample)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkBucketDistribution(List<T> distinct) {
+        int count = distinct.size();
+        if (count < MIN_INSTANCES_FOR_BUCKET_CHECK) {
+            return;
+        }
+
+        int tableSize = tableSizeFor((int)Math.ceil(count / 0.75));
+        Set<Integer> occupied = new HashSet<>();
+        for (T instance : distinct) {
+            occupied.add(spread(cachedHashCodeInitializer.getInitializedHashCode(instance)) & (tableSize - 1));
+        }
+
+        double expected = tableSize * (1 - Math.pow(1 - 1.0 / tableSize, count));
+        if (occupied.size() < MIN_BUCKET_OCCUPANCY * expected) {
+            fail(Formatter.of("Hash quality: %% unequal instances occupy only %% of %% buckets in a HashMap; about %% was expected." +
+                    "\nThe low bits of hashCode carry too little information.",
+                    count, occupied.size(), tableSize, (int)Math.round(expected)));
+        }
+    }
+
+    private void checkAvalanche(List<Field> fields, List<List<Object>> values, List<int[]> choices, List<T> samples) {
+        int samplesPerField = Math.min(samples.size(), MAX_SAMPLES_PER_FIELD);
+        for (int f = 0; f < fields.size(); f++) {
+            Field field = fields.get(f);
+            List<Object> fieldValues = values.get(f);
+            if (fieldValues.size() < 2) {
+                continue;
+            }
+
+            int changes = 0;
+            int unchanged = 0;
+            long bitsChanged = 0;
+            for (int i = 0; i < samplesPerField; i++) {
+                T sample = samples.get(i);
+                ObjectAccessor<T> copyAccessor = ObjectAccessor.of(ObjectAccessor.of(sample).copy());
+                Object other = fieldValues.get((choices.get(i)[f] + 1) % fieldValues.size());
+                copyAccessor.fieldAccessorFor(field).set(other);
+                T changed = copyAccessor.get();
+                if (sample.equals(changed)) {
+                    continue;
+                }
+
+                int diff = cachedHashCodeInitializer.getInitializedHashCode(sample) ^
+                        cachedHashCodeInitializer.getInitializedHashCode(changed);
+                changes++;
+                bitsChanged += Integer.bitCount(diff);
+                if (diff == 0) {
+                    unchanged++;
+                }
+            }
+
+            if (changes > 0 && unchanged > MAX_UNCHANGED_RATE * changes) {
+                fail(Formatter.of("Hash quality: changing field %% leaves hashCode unchanged in %% of %% cases." +
+                        "\nOn average, %% of 32 bits change.",
+                        field.getName(), unchanged, changes, String.format("%.1f", (double)bitsChanged / changes)));
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int result = 1;
+        while (result < capacity) {
+            result <<= 1;
+        }
+        return result;
+    }
+}
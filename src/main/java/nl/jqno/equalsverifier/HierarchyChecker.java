@@ -18,16 +18,14 @@ package nl.jqno.equalsverifier;
 import nl.jqno.equalsverifier.internal.ClassAccessor;
 import nl.jqno.equalsverifier.internal.Formatter;
 import nl.jqno.equalsverifier.internal.ObjectAccessor;
-import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import static nl.jqno.equalsverifier.internal.Assert.*;
 
 class HierarchyChecker<T> implements Checker {
-    private final Configuration<T> config;
+    private final VerificationPlan<T> plan;
     private final Class<T> type;
     private final TypeTag typeTag;
     private final ClassAccessor<T> classAccessor;
@@ -35,20 +33,20 @@ class HierarchyChecker<T> implements Checker {
     private final boolean typeIsFinal;
     private final CachedHashCodeInitializer<T> cachedHashCodeInitializer;
 
-    public HierarchyChecker(Configuration<T> config) {
-        this.config = config;
+    public HierarchyChecker(VerificationPlan<T> plan) {
+        this.plan = plan;
 
-        if (config.getWarningsToSuppress().contains(Warning.STRICT_INHERITANCE) &&
-                config.getRedefinedSubclass() != null) {
+        if (plan.isSuppressed(Warning.STRICT_INHERITANCE) &&
+                plan.getRedefinedSubclass() != null) {
             fail(Formatter.of("withRedefinedSubclass and weakInheritanceCheck are mutually exclusive."));
         }
 
-        this.type = config.getType();
-        this.typeTag = config.getTypeTag();
-        this.classAccessor = config.createClassAccessor();
-        this.redefinedSubclass = config.getRedefinedSubclass();
+        this.type = plan.getType();
+        this.typeTag = plan.getTypeTag();
+        this.classAccessor = plan.getClassAccessor();
+        this.redefinedSubclass = plan.getRedefinedSubclass();
         this.typeIsFinal = Modifier.isFinal(type.getModifiers());
-        this.cachedHashCodeInitializer = config.getCachedHashCodeInitializer();
+        this.cachedHashCodeInitializer = plan.getCachedHashCodeInitializer();
     }
 
     @Override
@@ -57,7 +55,7 @@ class HierarchyChecker<T> implements Checker {
         checkSubclass();
 
         checkRedefinedSubclass();
-        if (!config.getWarningsToSuppress().contains(Warning.STRICT_INHERITANCE)) {
+        if (!plan.isSuppressed(Warning.STRICT_INHERITANCE)) {
             checkFinalEqualsMethod();
         }
     }
@@ -68,7 +66,7 @@ class HierarchyChecker<T> implements Checker {
             return;
         }
 
-        if (config.hasRedefinedSuperclass() || config.isUsingGetClass()) {
+        if (plan.hasRedefinedSuperclass() || plan.isUsingGetClass()) {
             T reference = classAccessor.getRedObject(typeTag);
             Object equalSuper = getEqualSuper(reference);
 
@@ -87,7 +85,7 @@ class HierarchyChecker<T> implements Checker {
         Object equalSuper = getEqualSuper(reference);
 
         T shallow = referenceAccessor.copy();
-        ObjectAccessor.of(shallow).shallowScramble(config.getPrefabValues(), typeTag);
+        ObjectAccessor.of(shallow).shallowScramble(plan.getPrefabValues(), typeTag);
 
         Formatter symmetryFormatter = Formatter.of("Symmetry:\n  %%\ndoes not equal superclass instance\n  %%", reference, equalSuper);
         assertTrue(symmetryFormatter, reference.equals(equalSuper) && equalSuper.equals(reference));
@@ -118,7 +116,7 @@ class HierarchyChecker<T> implements Checker {
         T reference = referenceAccessor.get();
         T equalSub = referenceAccessor.copyIntoAnonymousSubclass();
 
-        if (config.isUsingGetClass()) {
+        if (plan.isUsingGetClass()) {
             Formatter formatter = Formatter.of(
                     "Subclass: object is equal to an instance of a trivial subclass with equal fields:" +
                     "\n  %%\nThis should not happen when using getClass().",
@@ -138,7 +136,7 @@ class HierarchyChecker<T> implements Checker {
             return;
         }
 
-        if (methodIsFinal("equals", Object.class)) {
+        if (classAccessor.isEqualsFinal()) {
             fail(Formatter.of("Subclass: %% has a final equals method.\nNo need to supply a redefined subclass.", type.getSimpleName()));
         }
 
@@ -154,10 +152,10 @@ class HierarchyChecker<T> implements Checker {
             return;
         }
 
-        boolean equalsIsFinal = methodIsFinal("equals", Object.class);
-        boolean hashCodeIsFinal = methodIsFinal("hashCode");
+        boolean equalsIsFinal = classAccessor.isEqualsFinal();
+        boolean hashCodeIsFinal = classAccessor.isHashCodeFinal();
 
-        if (config.isUsingGetClass()) {
+        if (plan.isUsingGetClass()) {
             assertEquals(Formatter.of("Finality: equals and hashCode must both be final or both be non-final."),
                     equalsIsFinal, hashCodeIsFinal);
         }
@@ -173,15 +171,4 @@ class HierarchyChecker<T> implements Checker {
             assertTrue(hashCodeFormatter, hashCodeIsFinal);
         }
     }
-
-    private boolean methodIsFinal(String methodName, Class<?>... parameterTypes) {
-        try {
-            Method method = type.getMethod(methodName, parameterTypes);
-            return Modifier.isFinal(method.getModifiers());
-        }
-        catch (SecurityException | NoSuchMethodException e) {
-            throw new ReflectionException("Should never occur: cannot find " + type.getName() + "." + methodName);
-        }
-
-    }
 }
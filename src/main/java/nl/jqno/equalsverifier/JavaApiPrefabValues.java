@@ -58,6 +58,19 @@ public final class JavaApiPrefabValues {
 
     private enum Dummy { RED, BLACK }
 
+    /**
+     * Builds the shared factories the first time they're needed.
+     */
+    private static final class SharedFactories {
+        private static final PrefabValues PREFAB_VALUES = build();
+
+        private static PrefabValues build() {
+            PrefabValues result = new PrefabValues();
+            addTo(result);
+            return result;
+        }
+    }
+
     /**
      * Private constructor. Use {@link #addTo(PrefabValues)}.
      */
@@ -76,6 +89,22 @@ public final class JavaApiPrefabValues {
         new JavaApiPrefabValues(prefabValues).addJavaClasses();
     }
 
+    /**
+     * Creates a {@link PrefabValues} that contains instances of Java API
+     * classes that cannot be instantiated dynamically.
+     *
+     * Unlike {@link #addTo(PrefabValues)}, this creates the factories for
+     * those instances only once, and shares them with every
+     * {@link PrefabValues} that it returns. That is safe from several threads
+     * at once, because the factories are never modified after they've been
+     * created.
+     *
+     * @return A new {@link PrefabValues}.
+     */
+    public static PrefabValues createPrefabValues() {
+        return SharedFactories.PREFAB_VALUES.copyFactories();
+    }
+
     private void addJavaClasses() {
         addPrimitiveClasses();
         addClasses();
@@ -94,6 +123,7 @@ public final class JavaApiPrefabValues {
         addGoogleGuavaImmutableClasses();
         addNewGoogleGuavaClasses();
         addJodaTimeClasses();
+        addStreams();
     }
 
     private void addPrimitiveClasses() {
@@ -141,87 +171,39 @@ public final class JavaApiPrefabValues {
         addValues(UUID.class, new UUID(0, -1), new UUID(1, 0));
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private void addCollection() {
-        addFactory(Iterable.class, new CollectionFactory() {
-            @Override public Collection createEmpty() { return new ArrayList<>(); }
-        });
-        addFactory(Collection.class, new CollectionFactory<Collection>() {
-            @Override public Collection createEmpty() { return new ArrayList<>(); }
-        });
+        addCollection(Iterable.class, ArrayList.class);
+        addCollection(Collection.class, ArrayList.class);
     }
 
-    @SuppressWarnings("rawtypes")
     private void addLists() {
-        addFactory(List.class, new CollectionFactory<List>() {
-            @Override public List createEmpty() { return new ArrayList<>(); }
-        });
-        addFactory(CopyOnWriteArrayList.class, new CollectionFactory<CopyOnWriteArrayList>() {
-            @Override public CopyOnWriteArrayList createEmpty() { return new CopyOnWriteArrayList<>(); }
-        });
-        addFactory(LinkedList.class, new CollectionFactory<LinkedList>() {
-            @Override public LinkedList createEmpty() { return new LinkedList<>(); }
-        });
-        addFactory(ArrayList.class, new CollectionFactory<ArrayList>() {
-            @Override public ArrayList createEmpty() { return new ArrayList<>(); }
-        });
+        addCollection(List.class, ArrayList.class);
+        addCollection(CopyOnWriteArrayList.class, CopyOnWriteArrayList.class);
+        addCollection(LinkedList.class, LinkedList.class);
+        addCollection(ArrayList.class, ArrayList.class);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private void addMaps() {
-        addFactory(Map.class, new MapFactory<Map>() {
-            @Override public Map createEmpty() { return new HashMap<>(); }
-        });
-        addFactory(SortedMap.class, new MapFactory<SortedMap>() {
-            @Override public SortedMap createEmpty() { return new TreeMap<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(NavigableMap.class, new MapFactory<NavigableMap>() {
-            @Override public NavigableMap createEmpty() { return new TreeMap<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(ConcurrentNavigableMap.class, new MapFactory<ConcurrentNavigableMap>() {
-            @Override public ConcurrentNavigableMap createEmpty() { return new ConcurrentSkipListMap<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(ConcurrentHashMap.class, new MapFactory<ConcurrentHashMap>() {
-            @Override public ConcurrentHashMap createEmpty() { return new ConcurrentHashMap<>(); }
-        });
-        addFactory(HashMap.class, new MapFactory<HashMap>() {
-            @Override public HashMap createEmpty() { return new HashMap<>(); }
-        });
-        addFactory(Hashtable.class, new MapFactory<Hashtable>() {
-            @Override public Hashtable createEmpty() { return new Hashtable<>(); }
-        });
-        addFactory(LinkedHashMap.class, new MapFactory<LinkedHashMap>() {
-            @Override public LinkedHashMap createEmpty() { return new LinkedHashMap<>(); }
-        });
-        addFactory(Properties.class, new MapFactory<Properties>() {
-            @Override public Properties createEmpty() { return new Properties(); }
-        });
-        addFactory(TreeMap.class, new MapFactory<TreeMap>() {
-            @Override public TreeMap createEmpty() { return new TreeMap<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(WeakHashMap.class, new MapFactory<WeakHashMap>() {
-            @Override public WeakHashMap createEmpty() { return new WeakHashMap<>(); }
-        });
+        addMap(Map.class, HashMap.class);
+        addMap(SortedMap.class, TreeMap.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addMap(NavigableMap.class, TreeMap.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addMap(ConcurrentNavigableMap.class, ConcurrentSkipListMap.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addMap(ConcurrentHashMap.class, ConcurrentHashMap.class);
+        addMap(HashMap.class, HashMap.class);
+        addMap(Hashtable.class, Hashtable.class);
+        addMap(LinkedHashMap.class, LinkedHashMap.class);
+        addMap(Properties.class, Properties.class);
+        addMap(TreeMap.class, TreeMap.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addMap(WeakHashMap.class, WeakHashMap.class);
         addFactory(EnumMap.class, new ReflectiveEnumMapFactory());
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private void addSets() {
-        addFactory(Set.class, new CollectionFactory<Set>() {
-            @Override public Set createEmpty() { return new HashSet(); }
-        });
-        addFactory(SortedSet.class, new CollectionFactory<SortedSet>() {
-            @Override public SortedSet createEmpty() { return new TreeSet<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(NavigableSet.class, new CollectionFactory<NavigableSet>() {
-            @Override public NavigableSet createEmpty() { return new TreeSet<>(OBJECT_COMPARATOR); }
-        });
-        addFactory(CopyOnWriteArraySet.class, new CollectionFactory<CopyOnWriteArraySet>() {
-            @Override public CopyOnWriteArraySet createEmpty() { return new CopyOnWriteArraySet<>(); }
-        });
-        addFactory(TreeSet.class, new CollectionFactory<TreeSet>() {
-            @Override public TreeSet createEmpty() { return new TreeSet<>(OBJECT_COMPARATOR); }
-        });
+        addCollection(Set.class, HashSet.class);
+        addCollection(SortedSet.class, TreeSet.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addCollection(NavigableSet.class, TreeSet.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
+        addCollection(CopyOnWriteArraySet.class, CopyOnWriteArraySet.class);
+        addCollection(TreeSet.class, TreeSet.class, classes(Comparator.class), objects(OBJECT_COMPARATOR));
         addFactory(EnumSet.class, new ReflectiveEnumSetFactory());
 
         BitSet redBitSet = new BitSet();
@@ -230,26 +212,14 @@ public final class JavaApiPrefabValues {
         addValues(BitSet.class, redBitSet, blackBitSet);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    @SuppressWarnings("rawtypes")
     private void addQueues() {
-        addFactory(Queue.class, new CollectionFactory<Queue>() {
-            @Override public Queue createEmpty() { return new ArrayBlockingQueue<>(1); }
-        });
-        addFactory(BlockingQueue.class, new CollectionFactory<BlockingQueue>() {
-            @Override public BlockingQueue createEmpty() { return new ArrayBlockingQueue<>(1); }
-        });
-        addFactory(Deque.class, new CollectionFactory<Deque>() {
-            @Override public Deque createEmpty() { return new ArrayDeque<>(1); }
-        });
-        addFactory(BlockingDeque.class, new CollectionFactory<BlockingDeque>() {
-            @Override public BlockingDeque createEmpty() { return new LinkedBlockingDeque<>(1); }
-        });
-        addFactory(ArrayBlockingQueue.class, new CollectionFactory<ArrayBlockingQueue>() {
-            @Override public ArrayBlockingQueue createEmpty() { return new ArrayBlockingQueue<>(1); }
-        });
-        addFactory(ConcurrentLinkedQueue.class, new CollectionFactory<ConcurrentLinkedQueue>() {
-            @Override public ConcurrentLinkedQueue createEmpty() { return new ConcurrentLinkedQueue<>(); }
-        });
+        addCollection(Queue.class, ArrayBlockingQueue.class, classes(int.class), objects(1));
+        addCollection(BlockingQueue.class, ArrayBlockingQueue.class, classes(int.class), objects(1));
+        addCollection(Deque.class, ArrayDeque.class, classes(int.class), objects(1));
+        addCollection(BlockingDeque.class, LinkedBlockingDeque.class, classes(int.class), objects(1));
+        addCollection(ArrayBlockingQueue.class, ArrayBlockingQueue.class, classes(int.class), objects(1));
+        addCollection(ConcurrentLinkedQueue.class, ConcurrentLinkedQueue.class);
         addFactory(DelayQueue.class, new PrefabValueFactory<DelayQueue>() {
             @SuppressWarnings("unchecked")
             @Override
@@ -262,12 +232,9 @@ public final class JavaApiPrefabValues {
                 return new Tuple<>(red, black);
             }
         });
-        addFactory(LinkedBlockingQueue.class, new CollectionFactory<LinkedBlockingQueue>() {
-            @Override public LinkedBlockingQueue createEmpty() { return new LinkedBlockingQueue<>(1); }
-        });
-        addFactory(PriorityBlockingQueue.class, new CollectionFactory<PriorityBlockingQueue>() {
-            @Override public PriorityBlockingQueue createEmpty() { return new PriorityBlockingQueue<>(1, OBJECT_COMPARATOR); }
-        });
+        addCollection(LinkedBlockingQueue.class, LinkedBlockingQueue.class, classes(int.class), objects(1));
+        addCollection(PriorityBlockingQueue.class, PriorityBlockingQueue.class,
+                classes(int.class, Comparator.class), objects(1, OBJECT_COMPARATOR));
         addValues(SynchronousQueue.class, new SynchronousQueue<>(), new SynchronousQueue<>());
     }
 
@@ -411,6 +378,52 @@ public final class JavaApiPrefabValues {
                 monthDay.instantiate(classes(int.class, int.class), objects(6, 26)));
     }
 
+    private void addStreams() {
+        addStream(boolean.class, Boolean.class, new SequenceFactory<Boolean>(2) {
+            @Override protected Boolean valueAt(int index) { return index == 0; }
+        });
+        addStream(byte.class, Byte.class, new SequenceFactory<Byte>(1 << Byte.SIZE) {
+            @Override protected Byte valueAt(int index) { return (byte)(index + 1); }
+        });
+        addStream(char.class, Character.class, new SequenceFactory<Character>(1 << Character.SIZE) {
+            @Override protected Character valueAt(int index) { return (char)('a' + index); }
+        });
+        addStream(double.class, Double.class, new SequenceFactory<Double>() {
+            @Override protected Double valueAt(int index) { return 0.5D * (index + 1); }
+        });
+        addStream(float.class, Float.class, new SequenceFactory<Float>(1 << 24) {
+            @Override protected Float valueAt(int index) { return 0.5F * (index + 1); }
+        });
+        addStream(int.class, Integer.class, new SequenceFactory<Integer>() {
+            @Override protected Integer valueAt(int index) { return index + 1; }
+        });
+        addStream(long.class, Long.class, new SequenceFactory<Long>() {
+            @Override protected Long valueAt(int index) { return index + 1L; }
+        });
+        addStream(short.class, Short.class, new SequenceFactory<Short>(1 << Short.SIZE) {
+            @Override protected Short valueAt(int index) { return (short)(index + 1); }
+        });
+
+        addStream(Object.class, new SequenceFactory<Object>() {
+            @Override protected Object valueAt(int index) { return new Object(); }
+        });
+        addStream(String.class, new SequenceFactory<String>() {
+            @Override protected String valueAt(int index) { return "value" + index; }
+        });
+        addStream(BigDecimal.class, new SequenceFactory<BigDecimal>() {
+            @Override protected BigDecimal valueAt(int index) { return BigDecimal.valueOf(index); }
+        });
+        addStream(BigInteger.class, new SequenceFactory<BigInteger>() {
+            @Override protected BigInteger valueAt(int index) { return BigInteger.valueOf(index); }
+        });
+        addStream(Date.class, new SequenceFactory<Date>() {
+            @Override protected Date valueAt(int index) { return new Date(index); }
+        });
+        addStream(UUID.class, new SequenceFactory<UUID>() {
+            @Override protected UUID valueAt(int index) { return new UUID(index, -1); }
+        });
+    }
+
     @SuppressWarnings("unchecked")
     private <T> void addValues(Class<T> type, Object red, Object black) {
         prefabValues.addFactory(type, (T)red, (T)black);
@@ -420,6 +433,37 @@ public final class JavaApiPrefabValues {
         prefabValues.addFactory(type, factory);
     }
 
+    @SuppressWarnings("rawtypes")
+    private void addCollection(Class<?> declaredType, Class<? extends Collection> actualType) {
+        addCollection(declaredType, actualType, classes(), objects());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void addCollection(Class<?> declaredType, Class<? extends Collection> actualType,
+            Class<?>[] parameterTypes, Object[] arguments) {
+        addFactory((Class)declaredType, CollectionFactory.constructing((Class)actualType, parameterTypes, arguments));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void addMap(Class<?> declaredType, Class<? extends Map> actualType) {
+        addMap(declaredType, actualType, classes(), objects());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void addMap(Class<?> declaredType, Class<? extends Map> actualType,
+            Class<?>[] parameterTypes, Object[] arguments) {
+        addFactory((Class)declaredType, MapFactory.constructing((Class)actualType, parameterTypes, arguments));
+    }
+
+    private <T> void addStream(Class<T> type, ValueStreamFactory<T> factory) {
+        prefabValues.addStreamFactory(type, factory);
+    }
+
+    private <T> void addStream(Class<T> primitiveType, Class<T> wrapperType, ValueStreamFactory<T> factory) {
+        addStream(primitiveType, factory);
+        addStream(wrapperType, factory);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void addJavaFxCollection(String name, Class<?> copyFrom, String factoryMethod) {
         String className = JAVAFX_COLLECTIONS_PACKAGE + name;
@@ -17,31 +17,27 @@ package nl.jqno.equalsverifier;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import nl.jqno.equalsverifier.FieldInspector.FieldCheck;
-import nl.jqno.equalsverifier.internal.ClassAccessor;
 import nl.jqno.equalsverifier.internal.FieldAccessor;
 import nl.jqno.equalsverifier.internal.Formatter;
-import nl.jqno.equalsverifier.internal.annotations.NonnullAnnotationChecker;
 
 import java.lang.reflect.Field;
 
 import static nl.jqno.equalsverifier.internal.Assert.fail;
 
 class NullChecker<T> implements Checker {
-    private final Configuration<T> config;
-    private final ClassAccessor<T> classAccessor;
+    private final VerificationPlan<T> plan;
 
-    public NullChecker(Configuration<T> config) {
-        this.config = config;
-        this.classAccessor = config.createClassAccessor();
+    public NullChecker(VerificationPlan<T> plan) {
+        this.plan = plan;
     }
 
     @Override
     public void check() {
-        if (config.getWarningsToSuppress().contains(Warning.NULL_FIELDS)) {
+        if (plan.isSuppressed(Warning.NULL_FIELDS)) {
             return;
         }
 
-        FieldInspector<T> inspector = new FieldInspector<>(classAccessor, config.getTypeTag());
+        FieldInspector<T> inspector = new FieldInspector<>(plan);
         inspector.check(new NullPointerExceptionFieldCheck());
     }
 
@@ -49,10 +45,7 @@ class NullChecker<T> implements Checker {
         @Override
         public void execute(FieldAccessor referenceAccessor, FieldAccessor changedAccessor) {
             Field field = referenceAccessor.getField();
-            if (field.getType().isPrimitive()) {
-                return;
-            }
-            if (NonnullAnnotationChecker.fieldIsNonnull(classAccessor, field)) {
+            if (!plan.fieldFor(field).isNullCheckApplicable()) {
                 return;
             }
 
@@ -89,7 +82,7 @@ class NullChecker<T> implements Checker {
             handle("hashCode", field, new Runnable() {
                 @Override
                 public void run() {
-                    config.getCachedHashCodeInitializer().getInitializedHashCode(changed);
+                    plan.getCachedHashCodeInitializer().getInitializedHashCode(changed);
                 }
             });
         }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.SuperclassIterable;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which verifications have passed before, in a file that can be
+ * shared between JVMs.
+ *
+ * A verification is identified by a fingerprint: a SHA-256 hash of the
+ * bytecode of the class under test, its superclasses and the types of its
+ * fields, including their type arguments and bounds, transitively, and of the
+ * configuration of the verification. The
+ * file contains one fingerprint per line. Lines are only ever appended, under
+ * a file lock, so that concurrent test JVMs can share the same file. Lines
+ * that aren't valid fingerprints, for instance because a JVM was killed while
+ * writing, are ignored.
+ *
+ * Verifications that depend on objects supplied by the caller, such as
+ * examples or prefab values, can't be fingerprinted, and are never cached.
+ */
+final class ResultCache {
+    private static final String FORMAT_VERSION = "1";
+    private static final int FINGERPRINT_LENGTH = 64;
+    private static final ConcurrentMap<File, Set<String>> KNOWN = new ConcurrentHashMap<>();
+
+    private final File file;
+
+    public ResultCache(File file) {
+        this.file = file.getAbsoluteFile();
+    }
+
+    /**
+     * Computes the fingerprint of a verification.
+     *
+     * @param config The configuration of the verification.
+     * @return The fingerprint, or null if the verification can't be cached.
+     */
+    public String fingerprint(Configuration<?> config) {
+        if (!isCacheable(config)) {
+            return null;
+        }
+
+        MessageDigest digest = sha256();
+        update(digest, FORMAT_VERSION);
+        update(digest, String.valueOf(EqualsVerifier.class.getPackage().getImplementationVersion()));
+        update(digest, System.getProperty("java.version"));
+        update(digest, describe(config));
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectTypes(config.getType(), types);
+        if (config.getRedefinedSubclass() != null) {
+            collectTypes(config.getRedefinedSubclass(), types);
+        }
+        for (Class<?> type : types) {
+            update(digest, type.getName());
+            if (type.getClassLoader() != null) {
+                byte[] bytecode = readBytecode(type);
+                if (bytecode == null) {
+                    return null;
+                }
+                digest.update(bytecode);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @param fingerprint A fingerprint computed by {@link #fingerprint(Configuration)}.
+     * @return True if a verification with the given fingerprint has passed before.
+     */
+    public boolean contains(String fingerprint) {
+        return known().contains(fingerprint);
+    }
+
+    /**
+     * Records that a verification with the given fingerprint has passed.
+     *
+     * @param fingerprint A fingerprint computed by {@link #fingerprint(Configuration)}.
+     */
+    public void record(String fingerprint) {
+        Set<String> known = known();
+        if (known.contains(fingerprint)) {
+            return;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(file, true);
+             FileLock ignored = out.getChannel().lock()) {
+            out.write((fingerprint + "\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not write result cache " + file + ".", e);
+        }
+        known.add(fingerprint);
+    }
+
+    private boolean isCacheable(Configuration<?> config) {
+        // A time-budgeted verification doesn't check all fields, and a cost
+        // report must be written by the verification itself.
+        return config.getEqualExamples().isEmpty() &&
+                config.getUnequalExamples().isEmpty() &&
+                config.getCachedHashCodeInitializer().isPassthrough() &&
+                !config.hasCustomPrefabValues() &&
+                !config.isTimeBudgeted() &&
+                config.getCostReport() == null;
+    }
+
+    private String describe(Configuration<?> config) {
+        StringBuilder result = new StringBuilder();
+        result.append("ignoredFields=").append(new TreeSet<>(config.getIgnoredFields()))
+                .append(";redefinedSuperclass=").append(config.hasRedefinedSuperclass())
+                .append(";redefinedSubclass=").append(config.getRedefinedSubclass() == null ? "" : config.getRedefinedSubclass().getName())
+                .append(";usingGetClass=").append(config.isUsingGetClass())
+                .append(";suppressed=").append(config.getWarningsToSuppress())
+                .append(";hashQualityAnalysis=").append(config.isHashQualityAnalysis())
+                .append(";costThresholdNanos=").append(config.getCallCostThresholdNanos())
+                .append(",").append(config.getFieldCostThresholdNanos())
+                .append(";allocationCheck=").append(config.isAllocationCheck());
+        return result.toString();
+    }
+
+    private void collectTypes(Class<?> type, Set<Class<?>> types) {
+        Class<?> c = type;
+        while (c.isArray()) {
+            c = c.getComponentType();
+        }
+        if (c.isPrimitive() || !types.add(c) || c.getClassLoader() == null) {
+            return;
+        }
+
+        collectDeclaredFieldTypes(c, types);
+        for (Class<?> superclass : SuperclassIterable.of(c)) {
+            if (types.add(superclass) && superclass.getClassLoader() != null) {
+                collectDeclaredFieldTypes(superclass, types);
+            }
+        }
+    }
+
+    private void collectDeclaredFieldTypes(Class<?> c, Set<Class<?>> types) {
+        // The type arguments of the superclass determine the types of its
+        // generic fields.
+        collectGenericTypes(c.getGenericSuperclass(), types, new HashSet<Type>());
+        for (Field field : c.getDeclaredFields()) {
+            collectGenericTypes(field.getGenericType(), types, new HashSet<Type>());
+        }
+    }
+
+    private void collectGenericTypes(Type type, Set<Class<?>> types, Set<Type> visited) {
+        if (type == null || !visited.add(type)) {
+            return;
+        }
+
+        if (type instanceof Class) {
+            collectTypes((Class<?>)type, types);
+        }
+        else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType)type;
+            collectGenericTypes(parameterized.getRawType(), types, visited);
+            collectGenericTypes(parameterized.getOwnerType(), types, visited);
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                collectGenericTypes(argument, types, visited);
+            }
+        }
+        else if (type instanceof GenericArrayType) {
+            collectGenericTypes(((GenericArrayType)type).getGenericComponentType(), types, visited);
+        }
+        else if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType)type;
+            for (Type bound : wildcard.getUpperBounds()) {
+                collectGenericTypes(bound, types, visited);
+            }
+            for (Type bound : wildcard.getLowerBounds()) {
+                collectGenericTypes(bound, types, visited);
+            }
+        }
+        else if (type instanceof TypeVariable) {
+            for (Type bound : ((TypeVariable<?>)type).getBounds()) {
+                collectGenericTypes(bound, types, visited);
+            }
+        }
+    }
+
+    private byte[] readBytecode(Class<?> type) {
+        String resource = type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Set<String> known() {
+        Set<String> result = KNOWN.get(file);
+        if (result == null) {
+            result = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+            result.addAll(load());
+            Set<String> existing = KNOWN.putIfAbsent(file, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    private Set<String> load() {
+        Set<String> result = new HashSet<>();
+        if (!file.exists()) {
+            return result;
+        }
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r");
+             FileLock ignored = in.getChannel().lock(0, Long.MAX_VALUE, true)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (isFingerprint(line)) {
+                    result.add(line);
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not read result cache " + file + ".", e);
+        }
+        return result;
+    }
+
+    private boolean isFingerprint(String line) {
+        if (line.length() != FINGERPRINT_LENGTH) {
+            return false;
+        }
+        for (char c : line.toCharArray()) {
+            if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
@@ -21,19 +21,18 @@ import nl.jqno.equalsverifier.internal.Formatter;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 import static nl.jqno.equalsverifier.internal.Assert.fail;
 
 class SignatureChecker<T> implements Checker {
     private final Class<T> type;
     private final ClassAccessor<T> classAccessor;
-    private final Set<Warning> warningsToSuppress;
+    private final VerificationPlan<T> plan;
 
-    public SignatureChecker(Configuration<T> config) {
-        this.type = config.getType();
-        this.classAccessor = config.createClassAccessor();
-        this.warningsToSuppress = config.getWarningsToSuppress();
+    public SignatureChecker(VerificationPlan<T> plan) {
+        this.type = plan.getType();
+        this.classAccessor = plan.getClassAccessor();
+        this.plan = plan;
     }
 
     @Override
@@ -50,7 +49,7 @@ class SignatureChecker<T> implements Checker {
 
     private void checkEqualsIsDefined() {
         boolean fail =
-                !warningsToSuppress.contains(Warning.INHERITED_DIRECTLY_FROM_OBJECT) &&
+                !plan.isSuppressed(Warning.INHERITED_DIRECTLY_FROM_OBJECT) &&
                 classAccessor.isEqualsInheritedFromObject();
         if (fail) {
             fail(Formatter.of(
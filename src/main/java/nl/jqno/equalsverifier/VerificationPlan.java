@@ -0,0 +1,301 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.ClassAccessor;
+import nl.jqno.equalsverifier.internal.FieldAccessor;
+import nl.jqno.equalsverifier.internal.FieldIterable;
+import nl.jqno.equalsverifier.internal.annotations.NonnullAnnotationChecker;
+import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Everything the checkers need to know about T and about how it should be
+ * verified, derived once from a {@link Configuration} at the start of a
+ * verification.
+ *
+ * Checkers share a single {@link ClassAccessor}, so annotations are processed
+ * only once, and look up field properties here instead of recomputing them.
+ */
+final class VerificationPlan<T> {
+    private final Configuration<T> config;
+    private final ClassAccessor<T> classAccessor;
+    private final EnumSet<Warning> warningsToSuppress;
+    private final List<PlannedField> fields;
+    private final Map<Field, PlannedField> fieldsByField;
+
+    private VerificationPlan(Configuration<T> config, ClassAccessor<T> classAccessor, EnumSet<Warning> warningsToSuppress,
+            List<PlannedField> fields, Map<Field, PlannedField> fieldsByField) {
+        this.config = config;
+        this.classAccessor = classAccessor;
+        this.warningsToSuppress = warningsToSuppress;
+        this.fields = fields;
+        this.fieldsByField = fieldsByField;
+    }
+
+    public static <T> VerificationPlan<T> of(Configuration<T> config) {
+        ClassAccessor<T> classAccessor = config.createClassAccessor();
+        EnumSet<Warning> warningsToSuppress = config.getWarningsToSuppress();
+        Set<String> ignoredFields = config.getIgnoredFields();
+        String cachedHashCodeFieldName = config.getCachedHashCodeInitializer().getCachedHashCodeFieldName();
+
+        List<PlannedField> fields = new ArrayList<>();
+        Map<Field, PlannedField> fieldsByField = new HashMap<>();
+        for (Field field : FieldIterable.of(config.getType())) {
+            PlannedField planned = new PlannedField(classAccessor, field, warningsToSuppress,
+                    ignoredFields.contains(field.getName()), field.getName().equals(cachedHashCodeFieldName));
+            fields.add(planned);
+            fieldsByField.put(field, planned);
+        }
+
+        return new VerificationPlan<>(config, classAccessor, warningsToSuppress,
+                Collections.unmodifiableList(fields), Collections.unmodifiableMap(fieldsByField));
+    }
+
+    public VerificationPlan<T> withUnequalExamples(List<T> value) {
+        return new VerificationPlan<>(config.withUnequalExamples(value), classAccessor, warningsToSuppress, fields, fieldsByField);
+    }
+
+    public Class<T> getType() {
+        return config.getType();
+    }
+
+    public TypeTag getTypeTag() {
+        return config.getTypeTag();
+    }
+
+    public PrefabValues getPrefabValues() {
+        return config.getPrefabValues();
+    }
+
+    public ClassAccessor<T> getClassAccessor() {
+        return classAccessor;
+    }
+
+    public List<T> getEqualExamples() {
+        return config.getEqualExamples();
+    }
+
+    public List<T> getUnequalExamples() {
+        return config.getUnequalExamples();
+    }
+
+    public CachedHashCodeInitializer<T> getCachedHashCodeInitializer() {
+        return config.getCachedHashCodeInitializer();
+    }
+
+    public boolean hasRedefinedSuperclass() {
+        return config.hasRedefinedSuperclass();
+    }
+
+    public Class<? extends T> getRedefinedSubclass() {
+        return config.getRedefinedSubclass();
+    }
+
+    public boolean isUsingGetClass() {
+        return config.isUsingGetClass();
+    }
+
+    public boolean isSuppressed(Warning warning) {
+        return warningsToSuppress.contains(warning);
+    }
+
+    public boolean isHashQualityAnalysis() {
+        return config.isHashQualityAnalysis();
+    }
+
+    public boolean isCostProfiling() {
+        return config.isCostProfiling();
+    }
+
+    public long getCallCostThresholdNanos() {
+        return config.getCallCostThresholdNanos();
+    }
+
+    public long getFieldCostThresholdNanos() {
+        return config.getFieldCostThresholdNanos();
+    }
+
+    public Appendable getCostReport() {
+        return config.getCostReport();
+    }
+
+    public boolean isAllocationCheck() {
+        return config.isAllocationCheck();
+    }
+
+    public boolean isTimeBudgeted() {
+        return config.isTimeBudgeted();
+    }
+
+    public long getTimeBudgetNanos() {
+        return config.getTimeBudgetNanos();
+    }
+
+    public Long getTimeBudgetSeed() {
+        return config.getTimeBudgetSeed();
+    }
+
+    public Appendable getTimeBudgetReport() {
+        return config.getTimeBudgetReport();
+    }
+
+    /**
+     * @return All fields of T, including those of its superclasses, in the
+     *          order of {@link FieldIterable}.
+     */
+    public List<PlannedField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return The static fields that the verification may change: all static
+     *          fields that can be modified reflectively, including primitive
+     *          ones, regardless of which warnings are suppressed. The checkers
+     *          temporarily set them to null, to NaN, or to a copy of their
+     *          value.
+     */
+    public List<Field> getMutatedStaticFields() {
+        List<Field> result = new ArrayList<>();
+        for (PlannedField planned : fields) {
+            if (planned.isStatic() && planned.canBeModifiedReflectively()) {
+                result.add(planned.getField());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The fields of T, as a list of {@link Field} objects.
+     */
+    public List<Field> getRawFields() {
+        List<Field> result = new ArrayList<>();
+        for (PlannedField planned : fields) {
+            result.add(planned.getField());
+        }
+        return result;
+    }
+
+    public PlannedField fieldFor(Field field) {
+        return fieldsByField.get(field);
+    }
+
+    /**
+     * The properties of a single field that determine which checks apply
+     * to it.
+     */
+    static final class PlannedField {
+        private final ClassAccessor<?> classAccessor;
+        private final Field field;
+        private final boolean isStatic;
+        private final boolean isFinal;
+        private final boolean isTransient;
+        private final boolean isPrimitive;
+        private final boolean canBeModifiedReflectively;
+        private final boolean isIgnored;
+        private final boolean isCachedHashCodeField;
+        private final boolean isNullCheckSuppressed;
+        private final boolean isSignificanceChecked;
+        private Boolean isNonnull;
+
+        private PlannedField(ClassAccessor<?> classAccessor, Field field, EnumSet<Warning> warningsToSuppress,
+                boolean isIgnored, boolean isCachedHashCodeField) {
+            FieldAccessor accessor = new FieldAccessor(null, field);
+            this.classAccessor = classAccessor;
+            this.field = field;
+            this.isStatic = accessor.fieldIsStatic();
+            this.isFinal = accessor.fieldIsFinal();
+            this.isTransient = accessor.fieldIsTransient();
+            this.isPrimitive = accessor.fieldIsPrimitive();
+            this.canBeModifiedReflectively = accessor.canBeModifiedReflectively();
+            this.isIgnored = isIgnored;
+            this.isCachedHashCodeField = isCachedHashCodeField;
+            this.isNullCheckSuppressed = warningsToSuppress.contains(Warning.NULL_FIELDS);
+
+            boolean allFieldsShouldBeUsed = !warningsToSuppress.contains(Warning.ALL_FIELDS_SHOULD_BE_USED) &&
+                    !warningsToSuppress.contains(Warning.IDENTICAL_COPY_FOR_VERSIONED_ENTITY);
+            this.isSignificanceChecked = allFieldsShouldBeUsed && !isStatic && !isTransient && !accessor.fieldIsSingleValueEnum();
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getName() {
+            return field.getName();
+        }
+
+        public boolean isStatic() {
+            return isStatic;
+        }
+
+        public boolean isFinal() {
+            return isFinal;
+        }
+
+        public boolean isTransient() {
+            return isTransient;
+        }
+
+        public boolean isPrimitive() {
+            return isPrimitive;
+        }
+
+        public boolean canBeModifiedReflectively() {
+            return canBeModifiedReflectively;
+        }
+
+        public boolean isIgnored() {
+            return isIgnored;
+        }
+
+        public boolean isCachedHashCodeField() {
+            return isCachedHashCodeField;
+        }
+
+        /**
+         * Determines whether the field is marked Nonnull. Annotations are
+         * only processed the first time this is called, because processing
+         * them can fail for classes whose class files can't be read.
+         *
+         * @return True if the field is to be treated as Nonnull.
+         */
+        public boolean isNonnull() {
+            if (isNonnull == null) {
+                isNonnull = NonnullAnnotationChecker.fieldIsNonnull(classAccessor, field);
+            }
+            return isNonnull;
+        }
+
+        /**
+         * @return True if equals and hashCode should be checked for their
+         *          handling of null in this field.
+         */
+        public boolean isNullCheckApplicable() {
+            return !isPrimitive && !isNullCheckSuppressed && !isNonnull();
+        }
+
+        /**
+         * @return True if equals should use this field, unless it's ignored.
+         */
+        public boolean isSignificanceChecked() {
+            return isSignificanceChecked;
+        }
+    }
+}
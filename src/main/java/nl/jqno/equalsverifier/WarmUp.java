@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.ClassAccessor;
+import nl.jqno.equalsverifier.internal.annotations.SupportedAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Does the work that makes the first verification in a JVM slow, ahead of
+ * time and on a background thread: loading EqualsVerifier's own classes and
+ * the libraries it uses, and reading the metadata of the given types.
+ *
+ * A verification of a built-in sample class exercises the library itself.
+ * Each given type is initialized, and its members and annotations are read
+ * into the caches that verifications share. No instances of it are created,
+ * because verifications don't share those. Work on one type doesn't depend
+ * on the others: if a type fails, the others are still warmed up, and the
+ * failure is reported through the {@link Future}.
+ */
+final class WarmUp implements Callable<Void> {
+    private final List<Class<?>> types;
+
+    private WarmUp(List<Class<?>> types) {
+        this.types = types;
+    }
+
+    public static Future<Void> start(Class<?>... types) {
+        for (Class<?> type : types) {
+            if (type == null) {
+                throw new NullPointerException("Type is null.");
+            }
+        }
+
+        FutureTask<Void> task = new FutureTask<>(new WarmUp(new ArrayList<>(Arrays.asList(types))));
+        Thread thread = new Thread(task, "EqualsVerifier warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+
+    @Override
+    public Void call() throws Exception {
+        Exception failure = null;
+        try {
+            EqualsVerifier.forClass(Sample.class).verify();
+        }
+        catch (RuntimeException | AssertionError e) {
+            failure = addFailure(failure, e);
+        }
+
+        for (Class<?> type : types) {
+            try {
+                prepare(type);
+            }
+            catch (ClassNotFoundException | RuntimeException | LinkageError e) {
+                failure = addFailure(failure, e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    private static <T> void prepare(Class<T> type) throws ClassNotFoundException {
+        if (!type.isPrimitive()) {
+            Class.forName(type.getName(), true, type.getClassLoader());
+        }
+
+        ClassAccessor<T> classAccessor = VerificationPlan.of(Configuration.of(type)).getClassAccessor();
+        classAccessor.declaresEquals();
+        classAccessor.hasAnnotation(SupportedAnnotations.IMMUTABLE);
+    }
+
+    private static Exception addFailure(Exception failure, Throwable e) {
+        if (failure == null) {
+            return new IllegalStateException("Could not warm up EqualsVerifier.", e);
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    @SuppressWarnings("unused")
+    public static class Sample {
+        private final int number;
+        private final String name;
+        private final List<String> tags;
+
+        public Sample(int number, String name, List<String> tags) {
+            this.number = number;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        @Override
+        public final boolean equals(Object obj) {
+            if (!(obj instanceof Sample)) {
+                return false;
+            }
+            Sample other = (Sample)obj;
+            return number == other.number &&
+                    (name == null ? other.name == null : name.equals(other.name)) &&
+                    (tags == null ? other.tags == null : tags.equals(other.tags));
+        }
+
+        @Override
+        public final int hashCode() {
+            int result = number;
+            result = 31 * result + (name == null ? 0 : name.hashCode());
+            result = 31 * result + (tags == null ? 0 : tags.hashCode());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes results in the JUnit XML format that CI servers understand, with
+ * one {@code testcase} per verified class.
+ *
+ * The {@code testsuite} element carries the totals, so the test cases are
+ * kept in memory and only written when the report is closed. Its time is the
+ * sum of the times of the test cases.
+ *
+ * @author Jan Ouwens
+ */
+final class JUnitXmlReport implements Report {
+    private final Writer out;
+    private final StringBuilder testCases = new StringBuilder();
+    private int count = 0;
+    private int failures = 0;
+    private long nanos = 0;
+
+    public JUnitXmlReport(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void add(String className, long nanos, String failure) {
+        count++;
+        this.nanos += nanos;
+        testCases.append("  <testcase classname=\"").append(escape(className)).append("\" name=\"verify\" time=\"")
+                .append(seconds(nanos)).append("\"");
+        if (failure == null) {
+            testCases.append("/>\n");
+        }
+        else {
+            failures++;
+            String firstLine = failure.split("\n", 2)[0];
+            testCases.append(">\n    <failure message=\"").append(escape(firstLine)).append("\">").append(escape(failure))
+                    .append("</failure>\n  </testcase>\n");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuite name=\"EqualsVerifier\" tests=\"" +
+                count + "\" failures=\"" + failures + "\" time=\"" + seconds(nanos) + "\">\n");
+        out.write(testCases.toString());
+        out.write("</testsuite>\n");
+        out.close();
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1000000000.0;
+    }
+
+    private static String escape(String value) {
+        StringBuilder result = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '<': result.append("&lt;"); break;
+                case '>': result.append("&gt;"); break;
+                case '&': result.append("&amp;"); break;
+                case '"': result.append("&quot;"); break;
+                default:
+                    if (c < 0x20 && c != '\n' && c != '\r' && c != '\t') {
+                        result.append('?');
+                    }
+                    else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes results as a JSON object with a {@code results} array, followed by
+ * a {@code summary}.
+ *
+ * @author Jan Ouwens
+ */
+final class JsonReport implements Report {
+    private final Writer out;
+    private int count = 0;
+    private int failures = 0;
+
+    public JsonReport(Writer out) throws IOException {
+        this.out = out;
+        out.write("{\"results\":[\n");
+    }
+
+    @Override
+    public void add(String className, long nanos, String failure) throws IOException {
+        if (count > 0) {
+            out.write(",\n");
+        }
+        out.write("{\"class\":" + quote(className) +
+                ",\"passed\":" + (failure == null) +
+                ",\"millis\":" + nanos / 1000000.0 +
+                (failure == null ? "" : ",\"message\":" + quote(failure)) + "}");
+        out.flush();
+        count++;
+        if (failure != null) {
+            failures++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.write("\n],\"summary\":{\"classes\":" + count + ",\"failures\":" + failures + "}}\n");
+        out.close();
+    }
+
+    private static String quote(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': result.append("\\\""); break;
+                case '\\': result.append("\\\\"); break;
+                case '\n': result.append("\\n"); break;
+                case '\r': result.append("\\r"); break;
+                case '\t': result.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int)c));
+                    }
+                    else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+}
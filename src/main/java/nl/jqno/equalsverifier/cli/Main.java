@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import nl.jqno.equalsverifier.ClassDiscovery;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Verifies every class in a set of packages that declares {@code equals} or
+ * {@code hashCode}, from the command line.
+ *
+ * All classes are verified in the same JVM, so they share its caches and its
+ * prefabricated values for Java API classes, also when they're verified on
+ * several threads. The exit code is {@value #EXIT_PASSED} if all
+ * verifications pass, {@value #EXIT_FAILED} if any of them fail, and
+ * {@value #EXIT_ERROR} if the arguments are invalid or the classes can't be
+ * read.
+ *
+ * @author Jan Ouwens
+ */
+public final class Main {
+    public static final int EXIT_PASSED = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_ERROR = 2;
+
+    private Main() {}
+
+    /**
+     * Runs the verifications and exits the JVM.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        System.exit(run(System.out, System.err, args));
+    }
+
+    /**
+     * Runs the verifications.
+     *
+     * @param out Where to write progress and a summary.
+     * @param err Where to write errors.
+     * @param args The command-line arguments.
+     * @return The exit code.
+     */
+    public static int run(PrintStream out, PrintStream err, String... args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        }
+        catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(Options.USAGE);
+            return EXIT_ERROR;
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(toUrls(options.getClasspath()), Main.class.getClassLoader());
+             Report report = openReport(options)) {
+            ClassDiscovery discovery = ClassDiscovery.forPaths(options.getClasspath().toArray(new File[0]));
+            for (String packageName : options.getPackages()) {
+                discovery.inPackage(packageName);
+            }
+            List<Class<?>> types = discovery.findClasses(classLoader);
+
+            int failures = verifyAll(types, options, report, out);
+            out.println("Verified " + types.size() + " classes: " + (types.size() - failures) + " passed, " +
+                    failures + " failed.");
+            return failures == 0 ? EXIT_PASSED : EXIT_FAILED;
+        }
+        catch (IOException | IllegalStateException e) {
+            err.println(e.getMessage());
+            return EXIT_ERROR;
+        }
+        catch (RuntimeException | LinkageError e) {
+            err.println(e.toString());
+            return EXIT_ERROR;
+        }
+    }
+
+    private static int verifyAll(List<Class<?>> types, final Options options, final Report report, final PrintStream out)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (final Class<?> type : types) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws IOException {
+                        return verify(type, options.getSuppressed().toArray(new Warning[0]), report, out);
+                    }
+                }));
+            }
+
+            int failures = 0;
+            for (Future<Boolean> result : results) {
+                if (!result.get()) {
+                    failures++;
+                }
+            }
+            return failures;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted.", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new IOException("Could not write report.", e.getCause());
+            }
+            throw new IllegalStateException("Could not verify all classes: " + e.getCause(), e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean verify(Class<?> type, Warning[] suppressed, Report report, PrintStream out) throws IOException {
+        String failure = null;
+        long start = System.nanoTime();
+        try {
+            EqualsVerifier.forClass(type)
+                    .suppress(suppressed)
+                    .verify();
+        }
+        catch (AssertionError e) {
+            failure = e.getMessage();
+        }
+        catch (RuntimeException | Error e) {
+            failure = e.toString();
+        }
+        long nanos = System.nanoTime() - start;
+
+        synchronized (report) {
+            report.add(type.getName(), nanos, failure);
+            out.println((failure == null ? "PASSED " : "FAILED ") + type.getName());
+        }
+        return failure == null;
+    }
+
+    private static URL[] toUrls(List<File> classpath) throws MalformedURLException {
+        URL[] result = new URL[classpath.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = classpath.get(i).toURI().toURL();
+        }
+        return result;
+    }
+
+    private static Report openReport(Options options) throws IOException {
+        if (options.getReport() == null) {
+            return new Report() {
+                @Override
+                public void add(String className, long nanos, String failure) {}
+
+                @Override
+                public void close() {}
+            };
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(options.getReport()), StandardCharsets.UTF_8));
+        return options.isJUnitFormat() ? new JUnitXmlReport(writer) : new JsonReport(writer);
+    }
+}
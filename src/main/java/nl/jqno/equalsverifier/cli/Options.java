@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import nl.jqno.equalsverifier.Warning;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * The command-line options of {@link Main}.
+ *
+ * @author Jan Ouwens
+ */
+final class Options {
+    static final String USAGE =
+            "Usage: java -jar equalsverifier.jar --classpath <paths> --packages <packages> [options]\n" +
+            "  --classpath <paths>      Directories and jar files, separated by '" + File.pathSeparator + "'\n" +
+            "  --packages <packages>    Packages to verify, separated by ','\n" +
+            "  --threads <n>            Number of classes to verify at the same time (default: 1)\n" +
+            "  --suppress <warnings>    Warnings to suppress, separated by ','\n" +
+            "  --report <file>          Write a report to this file\n" +
+            "  --format <json|junit>    Format of the report (default: junit if the file ends in .xml, else json)";
+
+    private final List<File> classpath = new ArrayList<>();
+    private final List<String> packages = new ArrayList<>();
+    private final EnumSet<Warning> suppressed = EnumSet.noneOf(Warning.class);
+    private int threads = 1;
+    private File report = null;
+    private String format = null;
+
+    private Options() {}
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args The arguments.
+     * @return The options.
+     * @throws IllegalArgumentException If the arguments are invalid.
+     */
+    public static Options parse(String... args) {
+        Options result = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option + ".");
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--classpath":
+                    for (String path : value.split(File.pathSeparator)) {
+                        if (!path.isEmpty()) {
+                            result.classpath.add(new File(path));
+                        }
+                    }
+                    break;
+                case "--packages":
+                    for (String packageName : value.split(",")) {
+                        if (!packageName.trim().isEmpty()) {
+                            result.packages.add(packageName.trim());
+                        }
+                    }
+                    break;
+                case "--threads":
+                    result.threads = parseThreads(value);
+                    break;
+                case "--suppress":
+                    for (String warning : value.split(",")) {
+                        result.suppressed.add(parseWarning(warning.trim()));
+                    }
+                    break;
+                case "--report":
+                    result.report = new File(value);
+                    break;
+                case "--format":
+                    if (!"json".equals(value) && !"junit".equals(value)) {
+                        throw new IllegalArgumentException("Unknown format " + value + ".");
+                    }
+                    result.format = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option + ".");
+            }
+        }
+
+        if (result.classpath.isEmpty()) {
+            throw new IllegalArgumentException("No classpath given.");
+        }
+        if (result.packages.isEmpty()) {
+            throw new IllegalArgumentException("No packages given.");
+        }
+        return result;
+    }
+
+    private static int parseThreads(String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result < 1) {
+                throw new IllegalArgumentException("Threads must be at least 1.");
+            }
+            return result;
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Threads is not a number: " + value + ".");
+        }
+    }
+
+    private static Warning parseWarning(String value) {
+        try {
+            return Warning.valueOf(value);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown warning " + value + ".");
+        }
+    }
+
+    public List<File> getClasspath() {
+        return classpath;
+    }
+
+    public List<String> getPackages() {
+        return packages;
+    }
+
+    public EnumSet<Warning> getSuppressed() {
+        return EnumSet.copyOf(suppressed);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public File getReport() {
+        return report;
+    }
+
+    public boolean isJUnitFormat() {
+        if (format != null) {
+            return "junit".equals(format);
+        }
+        return report != null && report.getName().endsWith(".xml");
+    }
+}
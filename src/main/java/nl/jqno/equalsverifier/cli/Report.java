@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the result of each verification as soon as it is known. Reports
+ * write it out straight away where their format allows it.
+ *
+ * @author Jan Ouwens
+ */
+interface Report extends Closeable {
+    /**
+     * Writes the result of a single verification.
+     *
+     * @param className The name of the verified class.
+     * @param nanos How long the verification took.
+     * @param failure The failure message, or null if the verification passed.
+     * @throws IOException If the report can't be written.
+     */
+    void add(String className, long nanos, String failure) throws IOException;
+}
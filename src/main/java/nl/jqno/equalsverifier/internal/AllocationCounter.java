@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Counts the bytes allocated by the current thread, on JVMs whose
+ * {@link ThreadMXBean} supports it.
+ *
+ * The extended {@code com.sun.management.ThreadMXBean} interface is accessed
+ * reflectively, so this class can be loaded on any JVM.
+ *
+ * @author Jan Ouwens
+ */
+public class AllocationCounter {
+    private static final String EXTENDED_MX_BEAN = "com.sun.management.ThreadMXBean";
+
+    private final ThreadMXBean bean;
+    private final Method getThreadAllocatedBytes;
+
+    /**
+     * Constructor.
+     */
+    public AllocationCounter() {
+        this.bean = ManagementFactory.getThreadMXBean();
+        this.getThreadAllocatedBytes = findGetThreadAllocatedBytes(bean);
+    }
+
+    private static Method findGetThreadAllocatedBytes(ThreadMXBean bean) {
+        Class<?> extended = ConditionalInstantiator.forName(EXTENDED_MX_BEAN);
+        if (extended == null || !extended.isInstance(bean)) {
+            return null;
+        }
+        try {
+            boolean supported = (Boolean)extended.getMethod("isThreadAllocatedMemorySupported").invoke(bean);
+            boolean enabled = (Boolean)extended.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean);
+            return supported && enabled ? extended.getMethod("getThreadAllocatedBytes", long.class) : null;
+        }
+        catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Determines whether the JVM can count allocated bytes.
+     *
+     * @return True if {@link #allocatedBytes()} can be used.
+     */
+    public boolean isSupported() {
+        return getThreadAllocatedBytes != null;
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the current thread so
+     * far. Only the difference between two calls is meaningful.
+     *
+     * @return The number of bytes allocated by the current thread.
+     * @throws ReflectionException If the JVM can't count allocated bytes.
+     */
+    public long allocatedBytes() {
+        if (!isSupported()) {
+            throw new ReflectionException("Counting allocated bytes is not supported by this JVM.");
+        }
+        try {
+            return (Long)getThreadAllocatedBytes.invoke(bean, Thread.currentThread().getId());
+        }
+        catch (IllegalAccessException | InvocationTargetException e) {
+            throw new ReflectionException(e);
+        }
+    }
+}
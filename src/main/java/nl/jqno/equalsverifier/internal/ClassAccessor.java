@@ -19,12 +19,10 @@ import nl.jqno.equalsverifier.internal.annotations.Annotation;
 import nl.jqno.equalsverifier.internal.annotations.AnnotationAccessor;
 import nl.jqno.equalsverifier.internal.annotations.NonnullAnnotationChecker;
 import nl.jqno.equalsverifier.internal.annotations.SupportedAnnotations;
-import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 
 /**
  * Instantiates and populates objects of a given class. {@link ClassAccessor}
@@ -144,13 +142,7 @@ public class ClassAccessor<T> {
      * @return True if T declares the field.
      */
     public boolean declaresField(Field field) {
-        try {
-            type.getDeclaredField(field.getName());
-            return true;
-        }
-        catch (NoSuchFieldException e) {
-            return false;
-        }
+        return MemberIndex.of(type).declaresField(field.getName());
     }
 
     /**
@@ -159,7 +151,7 @@ public class ClassAccessor<T> {
      * @return True if T has an {@code equals} method.
      */
     public boolean declaresEquals() {
-        return declaresMethod("equals", Object.class);
+        return MemberIndex.of(type).declaresEquals();
     }
 
     /**
@@ -168,17 +160,7 @@ public class ClassAccessor<T> {
      * @return True if T has an {@code hashCode} method.
      */
     public boolean declaresHashCode() {
-        return declaresMethod("hashCode");
-    }
-
-    private boolean declaresMethod(String name, Class<?>... parameterTypes) {
-        try {
-            type.getDeclaredMethod(name, parameterTypes);
-            return true;
-        }
-        catch (NoSuchMethodException e) {
-            return false;
-        }
+        return MemberIndex.of(type).declaresHashCode();
     }
 
     /**
@@ -187,7 +169,7 @@ public class ClassAccessor<T> {
      * @return True if T's {@code equals} method is abstract.
      */
     public boolean isEqualsAbstract() {
-        return isMethodAbstract("equals", Object.class);
+        return MemberIndex.of(type).isEqualsAbstract();
     }
 
     /**
@@ -196,16 +178,25 @@ public class ClassAccessor<T> {
      * @return True if T's {@code hashCode} method is abstract.
      */
     public boolean isHashCodeAbstract() {
-        return isMethodAbstract("hashCode");
+        return MemberIndex.of(type).isHashCodeAbstract();
     }
 
-    private boolean isMethodAbstract(String name, Class<?>... parameterTypes) {
-        try {
-            return Modifier.isAbstract(type.getMethod(name, parameterTypes).getModifiers());
-        }
-        catch (NoSuchMethodException e) {
-            throw new ReflectionException("Should never occur (famous last words)");
-        }
+    /**
+     * Determines whether T's {@code equals} method is final.
+     *
+     * @return True if T's {@code equals} method is final.
+     */
+    public boolean isEqualsFinal() {
+        return MemberIndex.of(type).isEqualsFinal();
+    }
+
+    /**
+     * Determines whether T's {@code hashCode} method is final.
+     *
+     * @return True if T's {@code hashCode} method is final.
+     */
+    public boolean isHashCodeFinal() {
+        return MemberIndex.of(type).isHashCodeFinal();
     }
 
     /**
@@ -217,14 +208,7 @@ public class ClassAccessor<T> {
      *          superclasses (except {@link Object}).
      */
     public boolean isEqualsInheritedFromObject() {
-        ClassAccessor<? super T> i = this;
-        while (i.getType() != Object.class) {
-            if (i.declaresEquals() && !i.isEqualsAbstract()) {
-                return false;
-            }
-            i = i.getSuperAccessor();
-        }
-        return true;
+        return MemberIndex.of(type).isEqualsInheritedFromObject();
     }
 
     /**
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches a value per class, like {@link ClassValue}, but without keeping
+ * class loaders alive and with a bound on the number of cached classes.
+ *
+ * Entries are kept in a segment per class loader. Segments of class loaders
+ * that outlive EqualsVerifier, like the system class loader or the one that
+ * loaded EqualsVerifier itself, hold on to their values directly: storing
+ * them on such a class through {@link ClassValue} would keep EqualsVerifier's
+ * own class loader alive. For all other class loaders, such as those that a
+ * build daemon or IDE creates for each test run, the values are stored
+ * through {@link ClassValue}, and the segment only references its classes
+ * weakly. Such a segment disappears together with its class loader.
+ *
+ * When a segment grows beyond its bound, the least recently used entry is
+ * evicted, and will be computed again when it's needed.
+ *
+ * The default bound can be set with the system property
+ * {@code equalsverifier.cache.maxEntriesPerClassLoader}.
+ *
+ * @author Jan Ouwens
+ *
+ * @param <V> The type of the cached values.
+ */
+public abstract class ClassCache<V> {
+    /**
+     * The number of classes per class loader that are cached by default.
+     */
+    public static final int DEFAULT_MAX_ENTRIES_PER_CLASS_LOADER =
+            Integer.getInteger("equalsverifier.cache.maxEntriesPerClassLoader", 1024);
+
+    private static final Set<ClassLoader> LONG_LIVED_CLASS_LOADERS = longLivedClassLoaders();
+
+    private final int maxEntriesPerClassLoader;
+    private final Map<ClassLoader, Segment> segments = new WeakHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ClassValue<V> values = new ClassValue<V>() {
+        @Override
+        protected V computeValue(Class<?> type) {
+            return ClassCache.this.computeValue(type);
+        }
+    };
+
+    /**
+     * Constructor that uses {@link #DEFAULT_MAX_ENTRIES_PER_CLASS_LOADER}.
+     */
+    protected ClassCache() {
+        this(DEFAULT_MAX_ENTRIES_PER_CLASS_LOADER);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntriesPerClassLoader The number of classes per class loader
+     *          that are cached.
+     * @throws IllegalArgumentException If {@code maxEntriesPerClassLoader}
+     *          is not positive.
+     */
+    protected ClassCache(int maxEntriesPerClassLoader) {
+        if (maxEntriesPerClassLoader <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxEntriesPerClassLoader = maxEntriesPerClassLoader;
+    }
+
+    /**
+     * Computes the value for a class that isn't in the cache.
+     *
+     * May call {@link #get(Class)} for other classes, for instance to build on
+     * the value of a superclass.
+     *
+     * @param type The class to compute the value for.
+     * @return The value for {@code type}.
+     */
+    protected abstract V computeValue(Class<?> type);
+
+    /**
+     * Returns the value for the given class, computing it if it isn't
+     * cached.
+     *
+     * @param type The class to get the value for.
+     * @return The value for {@code type}.
+     */
+    public V get(Class<?> type) {
+        Segment segment = segmentFor(type.getClassLoader());
+        if (!segment.retainsValues) {
+            V value = values.get(type);
+            synchronized (segment) {
+                if (segment.touch(type) == null) {
+                    segment.add(type, null);
+                }
+            }
+            return value;
+        }
+
+        synchronized (segment) {
+            Entry<V> entry = segment.touch(type);
+            if (entry != null) {
+                return entry.value;
+            }
+        }
+        // Compute outside the lock: computing the value may need the values
+        // of other classes.
+        V value = computeValue(type);
+        synchronized (segment) {
+            Entry<V> entry = segment.touch(type);
+            if (entry != null) {
+                return entry.value;
+            }
+            segment.add(type, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return The number of classes that are currently cached.
+     */
+    public int size() {
+        int result = 0;
+        for (Segment segment : snapshotOfSegments()) {
+            synchronized (segment) {
+                result += segment.entries.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of class loaders that have classes in the cache.
+     */
+    public int segmentCount() {
+        return snapshotOfSegments().size();
+    }
+
+    /**
+     * @return The number of times a value was found in the cache.
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of times a value had to be computed.
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of values that were evicted because their segment
+     *          was full.
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size() + ", segments=" + segmentCount() +
+                ", hits=" + hitCount() + ", misses=" + missCount() + ", evictions=" + evictionCount() + "]";
+    }
+
+    private synchronized Segment segmentFor(ClassLoader classLoader) {
+        Segment result = segments.get(classLoader);
+        if (result == null) {
+            result = new Segment(classLoader == null || LONG_LIVED_CLASS_LOADERS.contains(classLoader));
+            segments.put(classLoader, result);
+        }
+        return result;
+    }
+
+    private synchronized List<Segment> snapshotOfSegments() {
+        return new ArrayList<>(segments.values());
+    }
+
+    private static Set<ClassLoader> longLivedClassLoaders() {
+        Set<ClassLoader> result = Collections.newSetFromMap(new IdentityHashMap<ClassLoader, Boolean>());
+        for (ClassLoader cl = ClassCache.class.getClassLoader(); cl != null; cl = cl.getParent()) {
+            result.add(cl);
+        }
+        return result;
+    }
+
+    private final class Segment {
+        private final boolean retainsValues;
+        // Keyed by name: within a class loader, class names are unique. The
+        // map must not reference the classes themselves strongly.
+        private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Segment(boolean retainsValues) {
+            this.retainsValues = retainsValues;
+        }
+
+        private Entry<V> touch(Class<?> type) {
+            Entry<V> entry = entries.get(type.getName());
+            if (entry != null && entry.type.get() == type) {
+                hits.incrementAndGet();
+                return entry;
+            }
+            return null;
+        }
+
+        private void add(Class<?> type, V value) {
+            misses.incrementAndGet();
+            entries.put(type.getName(), new Entry<>(type, retainsValues ? value : null));
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (entries.size() > maxEntriesPerClassLoader) {
+                Class<?> evicted = it.next().type.get();
+                it.remove();
+                evictions.incrementAndGet();
+                if (evicted != null && !retainsValues) {
+                    values.remove(evicted);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final WeakReference<Class<?>> type;
+        private final V value;
+
+        private Entry(Class<?> type, V value) {
+            this.type = new WeakReference<Class<?>>(type);
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+/**
+ * Defines a generated class in the package of an existing class, so that it
+ * can access the package-private members of that class, without reflective
+ * access to {@code ClassLoader.defineClass}.
+ *
+ * Java 7 and 8 have no API for this, so this implementation always declines.
+ * On Java 9 and later, an alternative implementation from
+ * {@code src/main/java9} is used instead of this one.
+ *
+ * This class must not depend on any of the libraries that are relocated into
+ * EqualsVerifier's jar, because the alternative implementation is added to
+ * the jar after the relocation.
+ *
+ * @author Jan Ouwens
+ */
+final class ClassInjector {
+    private ClassInjector() {}
+
+    /**
+     * Defines a class in the package and class loader of {@code neighbour}.
+     *
+     * @param neighbour An existing class in the package of the generated
+     *          class.
+     * @param bytes The class file of the generated class.
+     * @return The defined class, or null if it can't be defined this way. The
+     *          caller should then fall back to reflective injection.
+     */
+    static Class<?> defineInPackageOf(Class<?> neighbour, byte[] bytes) {
+        return null;
+    }
+}
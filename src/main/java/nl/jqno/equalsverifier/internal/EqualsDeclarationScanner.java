@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Finds out, by reading its bytecode, whether a class declares
+ * {@code equals(Object)} or {@code hashCode()}, without loading the class.
+ *
+ * @author Jan Ouwens
+ */
+public final class EqualsDeclarationScanner {
+    private static final int SKIPPED_TYPES = Opcodes.ACC_INTERFACE | Opcodes.ACC_ANNOTATION | Opcodes.ACC_ENUM |
+            Opcodes.ACC_SYNTHETIC;
+
+    private EqualsDeclarationScanner() {
+        // Do not instantiate
+    }
+
+    /**
+     * Reads a class file and determines whether it's a class that declares
+     * {@code equals(Object)} or {@code hashCode()}. Interfaces, annotations,
+     * enums and synthetic classes never qualify.
+     *
+     * @param classFile The contents of the class file.
+     * @return The binary name of the class if it qualifies; null otherwise.
+     * @throws IOException If the class file can't be read.
+     * @throws IllegalArgumentException If the class file can't be parsed, for
+     *          instance because its version is newer than the bytecode
+     *          library supports.
+     */
+    public static String declaringClassName(InputStream classFile) throws IOException {
+        Visitor v = new Visitor();
+        new ClassReader(classFile).accept(v, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return v.declares && !v.skipped ? v.name : null;
+    }
+
+    private static class Visitor extends ClassVisitor {
+        private String name;
+        private boolean skipped = false;
+        private boolean declares = false;
+
+        public Visitor() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public void visit(int version, int access, String internalName, String signature, String superName, String[] interfaces) {
+            this.name = Type.getObjectType(internalName).getClassName();
+            this.skipped = (access & SKIPPED_TYPES) != 0;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String methodName, String descriptor, String signature, String[] exceptions) {
+            if ((access & (Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC | Opcodes.ACC_BRIDGE)) == 0) {
+                if (("equals".equals(methodName) && "(Ljava/lang/Object;)Z".equals(descriptor)) ||
+                        ("hashCode".equals(methodName) && "()I".equals(descriptor))) {
+                    declares = true;
+                }
+            }
+            return null;
+        }
+    }
+}
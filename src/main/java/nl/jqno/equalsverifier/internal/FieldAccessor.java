@@ -18,6 +18,7 @@ package nl.jqno.equalsverifier.internal;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.PrimitiveLane;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
 import java.lang.reflect.Field;
@@ -291,8 +292,67 @@ public class FieldAccessor {
 
         @Override
         public void modify() throws IllegalAccessException {
+            if (field.getType().isPrimitive()) {
+                PrimitiveLane lane = prefabValues.givePrimitiveLane(field.getType());
+                writeBits(lane.giveOther(readBits()));
+                return;
+            }
             Object newValue = prefabValues.giveOther(TypeTag.of(field, enclosingType), field.get(object));
             field.set(object, newValue);
         }
+
+        private long readBits() throws IllegalAccessException {
+            Class<?> type = field.getType();
+            if (type == boolean.class) {
+                return field.getBoolean(object) ? 1 : 0;
+            }
+            if (type == byte.class) {
+                return field.getByte(object);
+            }
+            if (type == char.class) {
+                return field.getChar(object);
+            }
+            if (type == double.class) {
+                return Double.doubleToLongBits(field.getDouble(object));
+            }
+            if (type == float.class) {
+                return Float.floatToIntBits(field.getFloat(object));
+            }
+            if (type == int.class) {
+                return field.getInt(object);
+            }
+            if (type == long.class) {
+                return field.getLong(object);
+            }
+            return field.getShort(object);
+        }
+
+        private void writeBits(long bits) throws IllegalAccessException {
+            Class<?> type = field.getType();
+            if (type == boolean.class) {
+                field.setBoolean(object, bits != 0);
+            }
+            else if (type == byte.class) {
+                field.setByte(object, (byte)bits);
+            }
+            else if (type == char.class) {
+                field.setChar(object, (char)bits);
+            }
+            else if (type == double.class) {
+                field.setDouble(object, Double.longBitsToDouble(bits));
+            }
+            else if (type == float.class) {
+                field.setFloat(object, Float.intBitsToFloat((int)bits));
+            }
+            else if (type == int.class) {
+                field.setInt(object, (int)bits);
+            }
+            else if (type == long.class) {
+                field.setLong(object, bits);
+            }
+            else {
+                field.setShort(object, (short)bits);
+            }
+        }
     }
 }
@@ -16,6 +16,7 @@
 package nl.jqno.equalsverifier.internal;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
@@ -33,6 +34,13 @@ import java.lang.reflect.Modifier;
  *          anonymous subclass of this class.
  */
 public final class Instantiator<T> {
+    private static final ClassCache<Class<?>> DYNAMIC_SUBCLASSES = new ClassCache<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return defineDynamicSubclass(type);
+        }
+    };
+
     private final Class<T> type;
     private Objenesis objenesis;
 
@@ -84,22 +92,75 @@ public final class Instantiator<T> {
 
     @SuppressWarnings("unchecked")
     private static <S> Class<S> createDynamicSubclass(Class<S> superclass) {
-        DynamicType.Builder<S> builder = createBuilder(superclass);
+        if (Modifier.isPublic(superclass.getModifiers())) {
+            return (Class<S>)DYNAMIC_SUBCLASSES.get(superclass);
+        }
+        return injectDynamicSubclass(superclass);
+    }
 
+    private static <S> Class<? extends S> defineDynamicSubclass(Class<S> superclass) {
+        // Each subclass gets a class loader of its own, so it can be unloaded
+        // as soon as it's no longer used, and its name can't collide with
+        // another generated subclass.
+        return createBuilder(superclass)
+                .name(new NamingStrategy.Fixed(dynamicSubclassName(superclass)))
+                .make()
+                .load(superclass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Class<S> injectDynamicSubclass(Class<S> superclass) {
+        // A subclass of a type that isn't public must be in the same package
+        // at runtime, so it has to be defined in the class loader of that type.
         boolean isSystemClass = superclass.getName().startsWith("java");
-        String namePrefix = isSystemClass ? "$" : "";
         ClassLoader classLoader = isSystemClass ? Instantiator.class.getClassLoader() : superclass.getClassLoader();
+        String name = dynamicSubclassName(superclass);
 
-        return (Class<S>)builder
-                .name(new NamingStrategy.Fixed(namePrefix + superclass.getName() + "$$DynamicSubclass"))
-                .make()
-                .load(classLoader, ClassLoadingStrategy.Default.INJECTION)
-                .getLoaded();
+        // The injected class stays in the class loader, so it can be reused
+        // without keeping a reference to it, and without generating it again.
+        Class<S> existing = (Class<S>)findLoadedSubclass(name, classLoader, superclass);
+        if (existing != null) {
+            return existing;
+        }
+
+        DynamicType.Unloaded<S> unloaded = createBuilder(superclass)
+                .name(new NamingStrategy.Fixed(name))
+                .make();
+        Class<?> defined = null;
+        if (superclass.getClassLoader() == classLoader) {
+            defined = ClassInjector.defineInPackageOf(superclass, unloaded.getBytes());
+        }
+        if (defined == null) {
+            defined = unloaded.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded();
+        }
+        return (Class<S>)defined;
+    }
+
+    private static String dynamicSubclassName(Class<?> superclass) {
+        String namePrefix = superclass.getName().startsWith("java") ? "$" : "";
+        return namePrefix + superclass.getName() + "$$DynamicSubclass";
+    }
+
+    private static Class<?> findLoadedSubclass(String name, ClassLoader classLoader, Class<?> superclass) {
+        if (classLoader == null) {
+            return null;
+        }
+        try {
+            Class<?> result = Class.forName(name, false, classLoader);
+            return superclass.isAssignableFrom(result) ? result : null;
+        }
+        catch (ClassNotFoundException | LinkageError ignored) {
+            return null;
+        }
     }
 
     @SuppressWarnings("unchecked")
     private static <S> DynamicType.Builder<S> createBuilder(Class<S> superclass) {
-        ByteBuddy byteBuddy = new ByteBuddy();
+        // Generate Java 7 class files, like the rest of EqualsVerifier, rather
+        // than asking Byte Buddy to detect the running version, which it can't
+        // do on Java 9 and later.
+        ByteBuddy byteBuddy = new ByteBuddy(ClassFileVersion.JAVA_V7);
         if (superclass.isInterface()) {
             return (DynamicType.Builder<S>)byteBuddy.subclass(Object.class).implement(superclass);
         }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Answers questions about the members that a class declares or inherits,
+ * without looking them up by name and catching NoSuchFieldException or
+ * NoSuchMethodException when they're absent.
+ *
+ * Each class is indexed once, and the index is kept in a {@link ClassCache}.
+ * The index of a class builds on the index of its superclass.
+ *
+ * @author Jan Ouwens
+ */
+public final class MemberIndex {
+    private static final ClassCache<MemberIndex> CACHE = new ClassCache<MemberIndex>() {
+        @Override
+        protected MemberIndex computeValue(Class<?> type) {
+            return new MemberIndex(type);
+        }
+    };
+
+    private final Set<String> declaredFieldNames = new HashSet<>();
+    private final boolean declaresEquals;
+    private final boolean declaresHashCode;
+    private final Method equalsMethod;
+    private final Method hashCodeMethod;
+    private final boolean equalsInheritedFromObject;
+
+    private MemberIndex(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            declaredFieldNames.add(field.getName());
+        }
+
+        Method declaredEquals = null;
+        Method declaredHashCode = null;
+        for (Method method : type.getDeclaredMethods()) {
+            if (isEquals(method)) {
+                declaredEquals = method;
+            }
+            if (isHashCode(method)) {
+                declaredHashCode = method;
+            }
+        }
+        this.declaresEquals = declaredEquals != null;
+        this.declaresHashCode = declaredHashCode != null;
+
+        Class<?> superclass = type.getSuperclass();
+        MemberIndex superIndex = superclass == null ? null : of(superclass);
+        this.equalsMethod = declaredEquals != null || superIndex == null ? declaredEquals : superIndex.equalsMethod;
+        this.hashCodeMethod = declaredHashCode != null || superIndex == null ? declaredHashCode : superIndex.hashCodeMethod;
+
+        if (type == Object.class) {
+            this.equalsInheritedFromObject = true;
+        }
+        else if (declaresEquals && !Modifier.isAbstract(declaredEquals.getModifiers())) {
+            this.equalsInheritedFromObject = false;
+        }
+        else {
+            this.equalsInheritedFromObject = superIndex == null || superIndex.equalsInheritedFromObject;
+        }
+    }
+
+    /**
+     * Factory method.
+     *
+     * @param type The class to index.
+     * @return The {@link MemberIndex} for {@code type}.
+     */
+    public static MemberIndex of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @param name The name of a field.
+     * @return True if the class itself declares a field with that name.
+     */
+    public boolean declaresField(String name) {
+        return declaredFieldNames.contains(name);
+    }
+
+    /**
+     * @return True if the class itself declares {@code equals(Object)}.
+     */
+    public boolean declaresEquals() {
+        return declaresEquals;
+    }
+
+    /**
+     * @return True if the class itself declares {@code hashCode()}.
+     */
+    public boolean declaresHashCode() {
+        return declaresHashCode;
+    }
+
+    /**
+     * @return True if the class's {@code equals} method, declared or
+     *          inherited, is abstract.
+     */
+    public boolean isEqualsAbstract() {
+        return Modifier.isAbstract(getEqualsMethod().getModifiers());
+    }
+
+    /**
+     * @return True if the class's {@code hashCode} method, declared or
+     *          inherited, is abstract.
+     */
+    public boolean isHashCodeAbstract() {
+        return Modifier.isAbstract(getHashCodeMethod().getModifiers());
+    }
+
+    /**
+     * @return True if the class's {@code equals} method, declared or
+     *          inherited, is final.
+     */
+    public boolean isEqualsFinal() {
+        return Modifier.isFinal(getEqualsMethod().getModifiers());
+    }
+
+    /**
+     * @return True if the class's {@code hashCode} method, declared or
+     *          inherited, is final.
+     */
+    public boolean isHashCodeFinal() {
+        return Modifier.isFinal(getHashCodeMethod().getModifiers());
+    }
+
+    /**
+     * @return True if no class in the hierarchy, except {@link Object},
+     *          declares a concrete {@code equals} method.
+     */
+    public boolean isEqualsInheritedFromObject() {
+        return equalsInheritedFromObject;
+    }
+
+    private Method getEqualsMethod() {
+        if (equalsMethod == null) {
+            throw new ReflectionException("Should never occur: cannot find equals");
+        }
+        return equalsMethod;
+    }
+
+    private Method getHashCodeMethod() {
+        if (hashCodeMethod == null) {
+            throw new ReflectionException("Should never occur: cannot find hashCode");
+        }
+        return hashCodeMethod;
+    }
+
+    private static boolean isEquals(Method method) {
+        if (!method.getName().equals("equals")) {
+            return false;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return parameterTypes.length == 1 && parameterTypes[0] == Object.class;
+    }
+
+    private static boolean isHashCode(Method method) {
+        return method.getName().equals("hashCode") && method.getParameterTypes().length == 0;
+    }
+}
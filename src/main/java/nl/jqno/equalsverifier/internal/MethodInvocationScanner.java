@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Finds out, by reading its bytecode, whether a method calls another
+ * particular method.
+ *
+ * @author Jan Ouwens
+ */
+public class MethodInvocationScanner {
+    private final Class<?> type;
+
+    /**
+     * Constructor.
+     *
+     * @param type The class that declares the methods to scan.
+     */
+    public MethodInvocationScanner(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Determines whether a method declared in {@link #type} contains a call to
+     * the specified target method.
+     *
+     * @param name The name of the method to scan.
+     * @param descriptor The bytecode descriptor of the method to scan; for
+     *          example {@code "()I"} for {@code hashCode}.
+     * @param targetOwner The class that declares the target method.
+     * @param targetName The name of the target method.
+     * @param targetDescriptor The bytecode descriptor of the target method.
+     * @return True if the method calls the target method; false if it doesn't,
+     *          if it isn't declared in {@link #type}, or if the class file
+     *          can't be read.
+     */
+    public boolean invokes(String name, String descriptor, Class<?> targetOwner, String targetName, String targetDescriptor) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        String url = Type.getInternalName(type) + ".class";
+
+        try (InputStream is = classLoader.getResourceAsStream(url)) {
+            if (is == null) {
+                return false;
+            }
+            Visitor v = new Visitor(name, descriptor, Type.getInternalName(targetOwner), targetName, targetDescriptor);
+            new ClassReader(is).accept(v, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return v.found;
+        }
+        catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static class Visitor extends ClassVisitor {
+        private final String name;
+        private final String descriptor;
+        private final String targetOwner;
+        private final String targetName;
+        private final String targetDescriptor;
+        private boolean found = false;
+
+        public Visitor(String name, String descriptor, String targetOwner, String targetName, String targetDescriptor) {
+            super(Opcodes.ASM5);
+            this.name = name;
+            this.descriptor = descriptor;
+            this.targetOwner = targetOwner;
+            this.targetName = targetName;
+            this.targetDescriptor = targetDescriptor;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String methodName, String methodDescriptor, String signature, String[] exceptions) {
+            if (!name.equals(methodName) || !descriptor.equals(methodDescriptor)) {
+                return null;
+            }
+            return new MethodVisitor(Opcodes.ASM5) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String insnName, String insnDescriptor, boolean itf) {
+                    if (targetOwner.equals(owner) && targetName.equals(insnName) && targetDescriptor.equals(insnDescriptor)) {
+                        found = true;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Guards static fields that a verification is going to modify.
+ *
+ * Taking a snapshot locks the classes that declare the fields, so that
+ * verifications that modify the same static fields don't run at the same
+ * time, while verifications that don't can still run in parallel. Restoring
+ * the snapshot puts back the original values and releases the locks.
+ *
+ * @author Jan Ouwens
+ */
+public final class StaticFieldSnapshot {
+    // Not bounded: evicting the lock of a class while a snapshot holds it
+    // would let another snapshot take a fresh lock for the same class.
+    private static final ClassCache<ClassLock> LOCKS = new ClassCache<ClassLock>(Integer.MAX_VALUE) {
+        @Override
+        protected ClassLock computeValue(Class<?> type) {
+            return new ClassLock();
+        }
+    };
+
+    private static final AtomicLong LOCK_SEQUENCE = new AtomicLong();
+
+    // Classes from different class loaders can have the same name, so the
+    // sequence number of their lock breaks the tie. It's unique, so this is a
+    // total order.
+    private static final Comparator<Class<?>> LOCK_ORDER = new Comparator<Class<?>>() {
+        @Override
+        public int compare(Class<?> a, Class<?> b) {
+            int result = a.getName().compareTo(b.getName());
+            if (result != 0) {
+                return result;
+            }
+            long x = LOCKS.get(a).sequence;
+            long y = LOCKS.get(b).sequence;
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+    };
+
+    private final List<ReentrantLock> locks = new ArrayList<>();
+    private final Map<Field, Object> values = new LinkedHashMap<>();
+
+    private StaticFieldSnapshot() {}
+
+    /**
+     * Locks the classes that declare the given fields, and saves the values
+     * of the fields.
+     *
+     * Locks are always taken in the same order, so two snapshots can't
+     * deadlock.
+     *
+     * @param fields The static fields to guard.
+     * @return A snapshot, which must be restored when the verification is
+     *          done.
+     * @throws IllegalArgumentException If one of the fields is not static.
+     * @throws ReflectionException If one of the fields can't be read.
+     */
+    public static StaticFieldSnapshot lockAndTake(Iterable<Field> fields) {
+        Set<Class<?>> declaringClasses = new LinkedHashSet<>();
+        for (Field field : fields) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                throw new IllegalArgumentException("Field " + field.getName() + " is not static.");
+            }
+            declaringClasses.add(field.getDeclaringClass());
+        }
+
+        List<Class<?>> lockOrder = new ArrayList<>(declaringClasses);
+        Collections.sort(lockOrder, LOCK_ORDER);
+
+        StaticFieldSnapshot result = new StaticFieldSnapshot();
+        for (Class<?> type : lockOrder) {
+            ReentrantLock lock = LOCKS.get(type).lock;
+            lock.lock();
+            result.locks.add(lock);
+        }
+
+        try {
+            for (Field field : fields) {
+                field.setAccessible(true);
+                result.values.put(field, field.get(null));
+            }
+        }
+        catch (IllegalAccessException | RuntimeException e) {
+            result.unlock();
+            throw new ReflectionException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Puts back the values of the fields as they were when the snapshot was
+     * taken, and releases the locks.
+     *
+     * @throws ReflectionException If one of the fields can't be written.
+     */
+    public void restoreAndUnlock() {
+        try {
+            for (Map.Entry<Field, Object> entry : values.entrySet()) {
+                entry.getKey().set(null, entry.getValue());
+            }
+        }
+        catch (IllegalAccessException e) {
+            throw new ReflectionException(e);
+        }
+        finally {
+            unlock();
+        }
+    }
+
+    private void unlock() {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+        locks.clear();
+    }
+
+    private static final class ClassLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long sequence = LOCK_SEQUENCE.getAndIncrement();
+    }
+}
@@ -17,16 +17,27 @@ package nl.jqno.equalsverifier.internal.annotations;
 
 import nl.jqno.equalsverifier.internal.SuperclassIterable;
 import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
-import org.objectweb.asm.*;
+import org.objectweb.asm.Type;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.*;
 
 /**
  * Provides access to the annotations that are defined on a class
  * and its fields.
  *
+ * Annotations with {@link RetentionPolicy#RUNTIME} are looked up through
+ * reflection first. The class file is only read when reflection doesn't find
+ * the annotation, and the annotation might have
+ * {@link RetentionPolicy#CLASS}, or might not be on the classpath.
+ *
  * @author Jan Ouwens
  */
 public class AnnotationAccessor {
@@ -35,6 +46,8 @@ public class AnnotationAccessor {
     private final boolean ignoreFailure;
     private final Set<Annotation> classAnnotations = new HashSet<>();
     private final Map<String, Set<Annotation>> fieldAnnotations = new HashMap<>();
+    private final Map<Annotation, Boolean> typeConclusiveness = new HashMap<>();
+    private final Map<Annotation, Boolean> fieldConclusiveness = new HashMap<>();
 
     private boolean processed = false;
     private boolean shortCircuit = false;
@@ -63,6 +76,14 @@ public class AnnotationAccessor {
         if (shortCircuit) {
             return false;
         }
+        if (isQueried(annotation)) {
+            if (typeHasAtRuntime(annotation)) {
+                return true;
+            }
+            if (isConclusiveAtRuntime(annotation, false)) {
+                return false;
+            }
+        }
         process();
         return classAnnotations.contains(annotation);
     }
@@ -83,6 +104,12 @@ public class AnnotationAccessor {
         if (shortCircuit) {
             return false;
         }
+        if (isQueried(annotation)) {
+            Boolean atRuntime = fieldHasAtRuntime(fieldName, annotation);
+            if (atRuntime != null) {
+                return atRuntime;
+            }
+        }
         process();
         Set<Annotation> annotations = fieldAnnotations.get(fieldName);
         if (annotations == null) {
@@ -91,146 +118,234 @@ public class AnnotationAccessor {
         return annotations.contains(annotation);
     }
 
-    private void process() {
-        if (processed) {
-            return;
+    private boolean isQueried(Annotation annotation) {
+        for (Annotation supported : supportedAnnotations) {
+            if (supported == annotation) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        visit();
-        processed = true;
+    private boolean typeHasAtRuntime(Annotation annotation) {
+        if (hasSupported(type.getDeclaredAnnotations(), annotation, false)) {
+            return true;
+        }
+        for (Class<?> c : SuperclassIterable.of(type)) {
+            if (hasSupported(c.getDeclaredAnnotations(), annotation, true)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private void visit() {
-        visitType(type, false);
+    private Boolean fieldHasAtRuntime(String fieldName, Annotation annotation) {
+        // Like the class file processing below, a superclass field hides a
+        // subclass field with the same name.
+        Field field = declaredField(type, fieldName);
+        boolean inheriting = false;
         for (Class<?> c : SuperclassIterable.of(type)) {
-            visitType(c, true);
+            Field f = declaredField(c, fieldName);
+            if (f != null) {
+                field = f;
+                inheriting = true;
+            }
+        }
+
+        if (field == null) {
+            return null;
         }
+        if (hasSupported(field.getDeclaredAnnotations(), annotation, inheriting)) {
+            return true;
+        }
+        if (isConclusiveAtRuntime(annotation, true)) {
+            return false;
+        }
+        return null;
     }
 
-    private void visitType(Class<?> c, boolean inheriting) {
-        ClassLoader classLoader = getClassLoaderFor(c);
-        Type asmType = Type.getType(c);
-        String url = asmType.getInternalName() + ".class";
+    private Field declaredField(Class<?> c, String fieldName) {
+        for (Field f : c.getDeclaredFields()) {
+            if (f.getName().equals(fieldName)) {
+                return f;
+            }
+        }
+        return null;
+    }
 
-        try (InputStream is = classLoader.getResourceAsStream(url)) {
-            Visitor v = new Visitor(inheriting);
-            ClassReader cr = new ClassReader(is);
-            cr.accept(v, 0);
+    private boolean hasSupported(java.lang.annotation.Annotation[] found, Annotation annotation, boolean inheriting) {
+        for (java.lang.annotation.Annotation a : found) {
+            AnnotationProperties properties = propertiesOf(a);
+            if (properties != null && isSupported(annotation, properties, inheriting)) {
+                return true;
+            }
         }
-        catch (IOException e) {
-            if (ignoreFailure) {
-                shortCircuit = true;
+        return false;
+    }
+
+    private AnnotationProperties propertiesOf(java.lang.annotation.Annotation a) {
+        Class<? extends java.lang.annotation.Annotation> annotationType = a.annotationType();
+        AnnotationProperties result = new AnnotationProperties(Type.getDescriptor(annotationType));
+        try {
+            for (Method m : annotationType.getDeclaredMethods()) {
+                Class<?> returnType = m.getReturnType();
+                if (m.getParameterTypes().length > 0 || !returnType.isArray() || returnType.getComponentType().isPrimitive()) {
+                    continue;
+                }
+                m.setAccessible(true);
+                result.putArrayValues(m.getName(), arrayValuesOf(m.invoke(a)));
             }
-            else {
-                throw new ReflectionException("Cannot read class file for " + c.getSimpleName() +
-                        ".\nSuppress Warning.ANNOTATION to skip annotation processing phase.");
+            return result;
+        }
+        catch (IllegalAccessException | InvocationTargetException | RuntimeException ignored) {
+            // For instance, a Class value that isn't on the classpath. Let
+            // the class file decide.
+            return null;
+        }
+    }
+
+    private Set<Object> arrayValuesOf(Object array) {
+        // Represent the values the same way ASM does when it reads them
+        // from the class file.
+        Set<Object> result = new HashSet<>();
+        for (int i = 0; i < Array.getLength(array); i++) {
+            Object value = Array.get(array, i);
+            if (value instanceof Class) {
+                result.add(Type.getType((Class<?>)value));
+            }
+            else if (value instanceof Enum) {
+                result.add(((Enum<?>)value).name());
+            }
+            else if (!(value instanceof java.lang.annotation.Annotation)) {
+                result.add(value);
             }
         }
+        return result;
     }
 
-    private ClassLoader getClassLoaderFor(Class<?> c) {
-        ClassLoader result = c.getClassLoader();
+    private boolean isConclusiveAtRuntime(Annotation annotation, boolean onField) {
+        Map<Annotation, Boolean> cache = onField ? fieldConclusiveness : typeConclusiveness;
+        Boolean result = cache.get(annotation);
         if (result == null) {
-            result = ClassLoader.getSystemClassLoader();
+            result = determineConclusiveness(annotation, onField);
+            cache.put(annotation, result);
         }
         return result;
     }
 
-    private class Visitor extends ClassVisitor {
-        private final boolean inheriting;
-
-        public Visitor(boolean inheriting) {
-            super(Opcodes.ASM5);
-            this.inheriting = inheriting;
+    private boolean determineConclusiveness(Annotation annotation, boolean onField) {
+        // Reflection can only rule out an annotation if each descriptor names
+        // a specific annotation that reflection is able to see.
+        for (String descriptor : annotation.descriptors()) {
+            Class<?> annotationType = loadAnnotationType(descriptor);
+            if (annotationType == null || !isVisibleAtRuntime(annotationType, onField)) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        @Override
-        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-            return new MyAnnotationVisitor(descriptor, classAnnotations, inheriting);
+    private Class<?> loadAnnotationType(String descriptor) {
+        String name = descriptor;
+        if (name.startsWith("L") && name.contains("/")) {
+            name = name.substring(1);
+        }
+        name = name.replace('/', '.');
+        if (!name.contains(".")) {
+            return null;
         }
 
-        @Override
-        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
-            HashSet<Annotation> annotations = new HashSet<>();
-            fieldAnnotations.put(name, annotations);
-            return new MyFieldVisitor(annotations, inheriting);
+        try {
+            Class<?> result = Class.forName(name, false, getClassLoaderFor(type));
+            return result.isAnnotation() ? result : null;
+        }
+        catch (ClassNotFoundException | LinkageError ignored) {
+            return null;
         }
     }
 
-    private class MyFieldVisitor extends FieldVisitor {
-        private final Set<Annotation> fieldAnnotations;
-        private final boolean inheriting;
-
-        public MyFieldVisitor(Set<Annotation> fieldAnnotations, boolean inheriting) {
-            super(Opcodes.ASM5);
-            this.fieldAnnotations = fieldAnnotations;
-            this.inheriting = inheriting;
+    private boolean isVisibleAtRuntime(Class<?> annotationType, boolean onField) {
+        Retention retention = annotationType.getAnnotation(Retention.class);
+        if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+            return false;
         }
-
-        @Override
-        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
-            return new MyAnnotationVisitor(descriptor, fieldAnnotations, inheriting);
+        if (onField) {
+            // Type annotations aren't returned by Field.getDeclaredAnnotations().
+            Target target = annotationType.getAnnotation(Target.class);
+            if (target != null) {
+                for (ElementType elementType : target.value()) {
+                    if ("TYPE_USE".equals(elementType.name())) {
+                        return false;
+                    }
+                }
+            }
         }
+        return true;
+    }
 
-        @Override
-        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-            return new MyAnnotationVisitor(descriptor, fieldAnnotations, inheriting);
+    private ClassLoader getClassLoaderFor(Class<?> c) {
+        ClassLoader result = c.getClassLoader();
+        if (result == null) {
+            result = ClassLoader.getSystemClassLoader();
         }
+        return result;
     }
 
-    private class MyAnnotationVisitor extends AnnotationVisitor {
-        private final String annotationDescriptor;
-        private final Set<Annotation> annotations;
-        private final boolean inheriting;
+    private void process() {
+        if (processed) {
+            return;
+        }
+
+        visit();
+        processed = true;
+    }
 
-        private final AnnotationProperties properties;
+    private void visit() {
+        visitType(type, false);
+        for (Class<?> c : SuperclassIterable.of(type)) {
+            visitType(c, true);
+        }
+    }
 
-        public MyAnnotationVisitor(String annotationDescriptor, Set<Annotation> annotations, boolean inheriting) {
-            super(Opcodes.ASM5);
-            this.annotationDescriptor = annotationDescriptor;
-            this.annotations = annotations;
-            this.inheriting = inheriting;
-            properties = new AnnotationProperties(annotationDescriptor);
+    private void visitType(Class<?> c, boolean inheriting) {
+        ClassFileAnnotations classFile = ClassFileAnnotations.of(c);
+        if (!classFile.isReadable()) {
+            if (ignoreFailure) {
+                shortCircuit = true;
+                return;
+            }
+            throw new ReflectionException("Cannot read class file for " + c.getSimpleName() +
+                    ".\nSuppress Warning.ANNOTATION to skip annotation processing phase.");
         }
 
-        @Override
-        public AnnotationVisitor visitArray(String name) {
-            Set<Object> foundAnnotations = new HashSet<>();
-            properties.putArrayValues(name, foundAnnotations);
-            return new AnnotationArrayValueVisitor(foundAnnotations);
+        addSupported(classFile.getTypeAnnotations(), classAnnotations, inheriting);
+        for (Map.Entry<String, List<AnnotationProperties>> entry : classFile.getFieldAnnotations().entrySet()) {
+            Set<Annotation> annotations = new HashSet<>();
+            fieldAnnotations.put(entry.getKey(), annotations);
+            addSupported(entry.getValue(), annotations, inheriting);
         }
+    }
 
-        @Override
-        public void visitEnd() {
+    private void addSupported(List<AnnotationProperties> found, Set<Annotation> annotations, boolean inheriting) {
+        for (AnnotationProperties properties : found) {
             for (Annotation annotation : supportedAnnotations) {
-                if (!inheriting || annotation.inherits()) {
-                    for (String descriptor : annotation.descriptors()) {
-                        String asBytecodeIdentifier = descriptor.replaceAll("\\.", "/") + ";";
-                        if (annotationDescriptor.endsWith(asBytecodeIdentifier) && annotation.validate(properties)) {
-                            annotations.add(annotation);
-                        }
-                    }
+                if (isSupported(annotation, properties, inheriting)) {
+                    annotations.add(annotation);
                 }
             }
         }
     }
 
-    private static class AnnotationArrayValueVisitor extends AnnotationVisitor {
-        private final Set<Object> foundAnnotations;
-
-        public AnnotationArrayValueVisitor(Set<Object> foundAnnotations) {
-            super(Opcodes.ASM5);
-            this.foundAnnotations = foundAnnotations;
-        }
-
-        @Override
-        public void visit(String name, Object value) {
-            foundAnnotations.add(value);
+    private boolean isSupported(Annotation annotation, AnnotationProperties properties, boolean inheriting) {
+        if (inheriting && !annotation.inherits()) {
+            return false;
         }
-
-        @Override
-        public void visitEnum(String name, String desc, String value) {
-            foundAnnotations.add(value);
+        for (String descriptor : annotation.descriptors()) {
+            String asBytecodeIdentifier = descriptor.replaceAll("\\.", "/") + ";";
+            if (properties.getDescriptor().endsWith(asBytecodeIdentifier) && annotation.validate(properties)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.annotations;
+
+import nl.jqno.equalsverifier.internal.ClassCache;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * The annotations in the class file of a single class, on the class itself
+ * and on each of its fields, in the order in which they appear.
+ *
+ * Each class file is parsed once, and the result is kept in a
+ * {@link ClassCache}. {@link AnnotationAccessor} composes the results
+ * for a class and its superclasses, so parsing a class hierarchy doesn't parse
+ * the same superclass again for each subclass.
+ *
+ * @author Jan Ouwens
+ */
+final class ClassFileAnnotations {
+    private static final ClassCache<ClassFileAnnotations> CACHE = new ClassCache<ClassFileAnnotations>() {
+        @Override
+        protected ClassFileAnnotations computeValue(Class<?> type) {
+            return new ClassFileAnnotations(type);
+        }
+    };
+
+    private final List<AnnotationProperties> typeAnnotations = new ArrayList<>();
+    private final Map<String, List<AnnotationProperties>> fieldAnnotations = new LinkedHashMap<>();
+    private final boolean readable;
+
+    private ClassFileAnnotations(Class<?> type) {
+        this.readable = parse(type);
+    }
+
+    /**
+     * Factory method.
+     *
+     * @param type The class whose class file should be parsed.
+     * @return The annotations in the class file of {@code type}.
+     */
+    public static ClassFileAnnotations of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @return False if the class file couldn't be read.
+     */
+    public boolean isReadable() {
+        return readable;
+    }
+
+    /**
+     * @return The annotations on the class itself.
+     */
+    public List<AnnotationProperties> getTypeAnnotations() {
+        return Collections.unmodifiableList(typeAnnotations);
+    }
+
+    /**
+     * @return The annotations on each field, keyed on field name, in the order
+     *          in which the fields are declared.
+     */
+    public Map<String, List<AnnotationProperties>> getFieldAnnotations() {
+        return Collections.unmodifiableMap(fieldAnnotations);
+    }
+
+    private boolean parse(Class<?> type) {
+        ClassLoader classLoader = getClassLoaderFor(type);
+        Type asmType = Type.getType(type);
+        String url = asmType.getInternalName() + ".class";
+
+        try (InputStream is = classLoader.getResourceAsStream(url)) {
+            ClassReader cr = new ClassReader(is);
+            cr.accept(new Visitor(), 0);
+            return true;
+        }
+        catch (IOException e) {
+            typeAnnotations.clear();
+            fieldAnnotations.clear();
+            return false;
+        }
+    }
+
+    private ClassLoader getClassLoaderFor(Class<?> c) {
+        ClassLoader result = c.getClassLoader();
+        if (result == null) {
+            result = ClassLoader.getSystemClassLoader();
+        }
+        return result;
+    }
+
+    private class Visitor extends ClassVisitor {
+        public Visitor() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return new MyAnnotationVisitor(descriptor, typeAnnotations);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            List<AnnotationProperties> annotations = new ArrayList<>();
+            fieldAnnotations.put(name, annotations);
+            return new MyFieldVisitor(annotations);
+        }
+    }
+
+    private static class MyFieldVisitor extends FieldVisitor {
+        private final List<AnnotationProperties> annotations;
+
+        public MyFieldVisitor(List<AnnotationProperties> annotations) {
+            super(Opcodes.ASM5);
+            this.annotations = annotations;
+        }
+
+        @Override
+        public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
+            return new MyAnnotationVisitor(descriptor, annotations);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            return new MyAnnotationVisitor(descriptor, annotations);
+        }
+    }
+
+    private static class MyAnnotationVisitor extends AnnotationVisitor {
+        private final List<AnnotationProperties> annotations;
+        private final AnnotationProperties properties;
+
+        public MyAnnotationVisitor(String annotationDescriptor, List<AnnotationProperties> annotations) {
+            super(Opcodes.ASM5);
+            this.annotations = annotations;
+            this.properties = new AnnotationProperties(annotationDescriptor);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            Set<Object> foundAnnotations = new HashSet<>();
+            properties.putArrayValues(name, foundAnnotations);
+            return new AnnotationArrayValueVisitor(foundAnnotations);
+        }
+
+        @Override
+        public void visitEnd() {
+            annotations.add(properties);
+        }
+    }
+
+    private static class AnnotationArrayValueVisitor extends AnnotationVisitor {
+        private final Set<Object> foundAnnotations;
+
+        public AnnotationArrayValueVisitor(Set<Object> foundAnnotations) {
+            super(Opcodes.ASM5);
+            this.foundAnnotations = foundAnnotations;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            foundAnnotations.add(value);
+        }
+
+        @Override
+        public void visitEnum(String name, String desc, String value) {
+            foundAnnotations.add(value);
+        }
+    }
+}
@@ -36,6 +36,13 @@ class FactoryCache {
         }
     }
 
+    /**
+     * Adds all factories from the given cache to this cache.
+     */
+    public void putAll(FactoryCache other) {
+        cache.putAll(other.cache);
+    }
+
     /**
      * Retrieves the factory from the cache for the given type.
      *
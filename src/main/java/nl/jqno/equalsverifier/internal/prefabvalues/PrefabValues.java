@@ -20,11 +20,9 @@ import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.factories.FallbackFactory;
 import nl.jqno.equalsverifier.internal.prefabvalues.factories.PrefabValueFactory;
 import nl.jqno.equalsverifier.internal.prefabvalues.factories.SimpleFactory;
+import nl.jqno.equalsverifier.internal.prefabvalues.factories.ValueStreamFactory;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Container and creator of prefabricated instances of objects and classes.
@@ -33,6 +31,10 @@ import java.util.Map;
  * generics into account; i.e., {@code List<Integer>} is different from
  * {@code List<String>}.
  *
+ * Besides red and black values, it can also give a lazy stream of many
+ * distinct values of a type, for analyses that need more than two. Those
+ * values are not cached.
+ *
  * @author Jan Ouwens
  */
 public class PrefabValues {
@@ -40,7 +42,25 @@ public class PrefabValues {
 
     private final Cache cache = new Cache();
     private final FactoryCache factoryCache = new FactoryCache();
-    private final PrefabValueFactory<?> fallbackFactory = new FallbackFactory<>();
+    private final Map<Class<?>, ValueStreamFactory<?>> streamFactories = new HashMap<>();
+    private final Map<Class<?>, PrimitiveLane> primitiveLanes = new HashMap<>();
+    private final FallbackFactory<?> fallbackFactory = new FallbackFactory<>();
+
+    /**
+     * Creates a new {@link PrefabValues} with the same factories as this one,
+     * but without any of the values that this one has created.
+     *
+     * Only reads this {@link PrefabValues}, so it can be called from several
+     * threads at once, as long as no more factories are added to it.
+     *
+     * @return A new {@link PrefabValues}.
+     */
+    public PrefabValues copyFactories() {
+        PrefabValues result = new PrefabValues();
+        result.factoryCache.putAll(factoryCache);
+        result.streamFactories.putAll(streamFactories);
+        return result;
+    }
 
     /**
      * Associates the factory that can create instances of the given type,
@@ -52,6 +72,8 @@ public class PrefabValues {
      */
     public <T> void addFactory(Class<T> type, PrefabValueFactory<T> factory) {
         factoryCache.put(type, factory);
+        streamFactories.remove(type);
+        primitiveLanes.remove(type);
     }
 
     /**
@@ -64,6 +86,23 @@ public class PrefabValues {
      */
     public <T> void addFactory(Class<T> type, T red, T black) {
         factoryCache.put(type, new SimpleFactory<>(red, black));
+        streamFactories.remove(type);
+        primitiveLanes.remove(type);
+    }
+
+    /**
+     * Associates the factory that can create a stream of many distinct
+     * instances of the given type, with the specified class.
+     *
+     * Adding a regular factory for the same class afterwards, replaces this
+     * one.
+     *
+     * @param <T> The type of value to which the factory is associated.
+     * @param type The class of the values.
+     * @param factory The factory.
+     */
+    public <T> void addStreamFactory(Class<T> type, ValueStreamFactory<T> factory) {
+        streamFactories.put(type, factory);
     }
 
     /**
@@ -94,6 +133,11 @@ public class PrefabValues {
      * Returns a prefabricated value of the specified type, that is different
      * from the specified value.
      *
+     * The value is recognised by identity: if it is the red value, the black
+     * value is returned, and the red value otherwise. The value's
+     * {@code equals} method is only called for primitives and their
+     * wrappers, which can't be recognised by identity.
+     *
      * @param tag A description of the desired type, including generic
      *            parameters.
      * @param value A value that is different from the value that will be
@@ -106,22 +150,85 @@ public class PrefabValues {
         }
 
         Tuple<T> tuple = giveTuple(tag, emptyStack());
-        if (type.isArray() && arraysAreDeeplyEqual(tuple.getRed(), value)) {
+        if (value == tuple.getRed()) {
             return tuple.getBlack();
         }
-        if (!type.isArray() && tuple.getRed().equals(value)) {
+        if (value != null && value != tuple.getBlack() && isPrimitiveValue(type) && tuple.getRed().equals(value)) {
             return tuple.getBlack();
         }
         return tuple.getRed();
     }
 
+    /**
+     * Returns the red and black values of the specified primitive type as a
+     * {@link PrimitiveLane}, so they can be used without boxing.
+     *
+     * @param type A primitive type.
+     */
+    public PrimitiveLane givePrimitiveLane(Class<?> type) {
+        PrimitiveLane lane = primitiveLanes.get(type);
+        if (lane == null) {
+            Tuple<Object> tuple = giveTuple(new TypeTag(type), emptyStack());
+            lane = new PrimitiveLane(tuple.getRed(), tuple.getBlack());
+            primitiveLanes.put(type, lane);
+        }
+        return lane;
+    }
+
+    /**
+     * Returns a lazy stream of mutually unequal values of the specified type.
+     *
+     * Each call returns a new stream, and values are only created when the
+     * stream is advanced. Depending on the type, the stream can be finite:
+     * for types that can only provide red and black values, it contains just
+     * those two.
+     *
+     * @param tag A description of the desired type, including generic
+     *            parameters.
+     */
+    public <T> Iterator<T> giveValues(TypeTag tag) {
+        return giveValues(tag, emptyStack());
+    }
+
+    /**
+     * Returns a lazy stream of mutually unequal values of the specified type.
+     *
+     * @param tag A description of the desired type, including generic
+     *            parameters.
+     * @param typeStack Keeps track of recursion in the type.
+     * @see #giveValues(TypeTag)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Iterator<T> giveValues(TypeTag tag, LinkedHashSet<TypeTag> typeStack) {
+        if (typeStack.contains(tag)) {
+            throw new RecursionException(typeStack);
+        }
+
+        Class<T> type = tag.getType();
+        if (streamFactories.containsKey(type)) {
+            ValueStreamFactory<T> factory = (ValueStreamFactory<T>)streamFactories.get(type);
+            return factory.createStream(tag, this, typeStack);
+        }
+        if (factoryCache.contains(type)) {
+            PrefabValueFactory<T> factory = factoryCache.get(type);
+            if (factory instanceof ValueStreamFactory) {
+                return ((ValueStreamFactory<T>)factory).createStream(tag, this, typeStack);
+            }
+            Tuple<T> tuple = giveTuple(tag, typeStack);
+            return Arrays.asList(tuple.getRed(), tuple.getBlack()).iterator();
+        }
+
+        return ((ValueStreamFactory<T>)fallbackFactory).createStream(tag, this, typeStack);
+    }
+
     private boolean wraps(Class<?> expectedClass, Class<?> actualClass) {
         return PRIMITIVE_OBJECT_MAPPER.get(expectedClass) == actualClass;
     }
 
-    private boolean arraysAreDeeplyEqual(Object x, Object y) {
-        // Arrays.deepEquals doesn't accept Object values so we need to wrap them in another array.
-        return Arrays.deepEquals(new Object[] { x }, new Object[] { y });
+    private boolean isPrimitiveValue(Class<?> type) {
+        // Primitive values are boxed anew when they're read from a field, so they can't be
+        // recognised by identity. Their wrappers' equals methods are cheap and well-behaved.
+        return type.isPrimitive() || PRIMITIVE_OBJECT_MAPPER.containsValue(type);
     }
 
     private <T> Tuple<T> giveTuple(TypeTag tag, LinkedHashSet<TypeTag> typeStack) {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues;
+
+/**
+ * Container for the red and black values of a primitive type, stored as raw
+ * bits so that they can be compared and handed out without boxing.
+ *
+ * Booleans are stored as 0 or 1, floats and doubles as the result of
+ * {@link Float#floatToIntBits(float)} and
+ * {@link Double#doubleToLongBits(double)}, and all other primitives as their
+ * numeric value.
+ */
+public final class PrimitiveLane {
+    private final long red;
+    private final long black;
+
+    /**
+     * Constructor.
+     *
+     * @param red The red value, boxed.
+     * @param black The black value, boxed.
+     */
+    public PrimitiveLane(Object red, Object black) {
+        this.red = toBits(red);
+        this.black = toBits(black);
+    }
+
+    /**
+     * Returns the bits of the red value.
+     */
+    public long getRed() {
+        return red;
+    }
+
+    /**
+     * Returns the bits of the black value.
+     */
+    public long getBlack() {
+        return black;
+    }
+
+    /**
+     * Returns the bits of the black value if {@code bits} are those of the
+     * red value, and the bits of the red value otherwise.
+     *
+     * @param bits The bits of a primitive value.
+     */
+    public long giveOther(long bits) {
+        return bits == red ? black : red;
+    }
+
+    /**
+     * Converts a boxed primitive value to its raw bits.
+     *
+     * @param value A boxed primitive value.
+     * @return The raw bits of value.
+     */
+    public static long toBits(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean)value ? 1 : 0;
+        }
+        if (value instanceof Character) {
+            return (Character)value;
+        }
+        if (value instanceof Double) {
+            return Double.doubleToLongBits((Double)value);
+        }
+        if (value instanceof Float) {
+            return Float.floatToIntBits((Float)value);
+        }
+        return ((Number)value).longValue();
+    }
+}
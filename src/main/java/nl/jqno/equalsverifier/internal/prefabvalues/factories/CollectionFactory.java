@@ -20,16 +20,48 @@ import nl.jqno.equalsverifier.internal.prefabvalues.Tuple;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 
 /**
  * Implementation of {@link PrefabValueFactory} that specializes in creating
  * implementations of {@link Collection}, taking generics into account.
+ *
+ * As a {@link ValueStreamFactory}, it wraps each value of the element type's
+ * stream in a collection of its own.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
-public abstract class CollectionFactory<T extends Collection> extends AbstractReflectiveGenericFactory<T> {
+public abstract class CollectionFactory<T extends Collection> extends AbstractReflectiveGenericFactory<T>
+        implements ValueStreamFactory<T> {
     public abstract T createEmpty();
 
+    /**
+     * Returns a factory that creates empty Collections by calling a constructor,
+     * so that a factory for a type doesn't need a class of its own.
+     *
+     * @param type The type of Collection to create.
+     * @param parameterTypes The parameter types of the constructor.
+     * @param arguments The arguments to pass to the constructor.
+     * @param <T> The type of Collection to create.
+     * @return A factory for {@code type}.
+     */
+    public static <T extends Collection> CollectionFactory<T> constructing(Class<T> type, Class<?>[] parameterTypes, Object[] arguments) {
+        return new Constructing<>(new ConstructorDescriptor<>(type, parameterTypes, arguments));
+    }
+
+    private static final class Constructing<T extends Collection> extends CollectionFactory<T> {
+        private final ConstructorDescriptor<T> descriptor;
+
+        private Constructing(ConstructorDescriptor<T> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public T createEmpty() {
+            return descriptor.newInstance();
+        }
+    }
+
     @Override
     public Tuple<T> createValues(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
         LinkedHashSet<TypeTag> clone = cloneWith(typeStack, tag);
@@ -42,4 +74,19 @@ public abstract class CollectionFactory<T extends Collection> extends AbstractRe
 
         return new Tuple<>(red, black);
     }
+
+    @Override
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        LinkedHashSet<TypeTag> clone = cloneWith(typeStack, tag);
+        TypeTag entryTag = determineActualTypeTagFor(0, tag);
+
+        return new MappingIterator<Object, T>(prefabValues.giveValues(entryTag, clone)) {
+            @Override
+            protected T map(Object value) {
+                T result = createEmpty();
+                result.add(value);
+                return result;
+            }
+        };
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues.factories;
+
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Describes how to create an empty container: which constructor to call,
+ * and with which arguments.
+ *
+ * The constructor is looked up the first time it's needed, and reused after
+ * that, also by other descriptors of the same constructor. That way, adding
+ * the Java API factories to another {@link
+ * nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues} doesn't look up
+ * the same constructors again.
+ */
+final class ConstructorDescriptor<T> {
+    private static final ClassValue<ConcurrentMap<List<Class<?>>, Constructor<?>>> CONSTRUCTORS =
+            new ClassValue<ConcurrentMap<List<Class<?>>, Constructor<?>>>() {
+                @Override
+                protected ConcurrentMap<List<Class<?>>, Constructor<?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<T> type;
+    private final Class<?>[] parameterTypes;
+    private final Object[] arguments;
+    private volatile Constructor<T> constructor;
+
+    /* default */ ConstructorDescriptor(Class<T> type, Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            throw new IllegalArgumentException("Expected " + parameterTypes.length + " arguments for " +
+                    type.getName() + ", but got " + arguments.length + ".");
+        }
+        this.type = type;
+        this.parameterTypes = Arrays.copyOf(parameterTypes, parameterTypes.length);
+        this.arguments = Arrays.copyOf(arguments, arguments.length);
+    }
+
+    public T newInstance() {
+        try {
+            return constructor().newInstance(arguments);
+        }
+        catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new ReflectionException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    /* default */ Constructor<T> constructor() {
+        Constructor<T> result = constructor;
+        if (result == null) {
+            ConcurrentMap<List<Class<?>>, Constructor<?>> constructors = CONSTRUCTORS.get(type);
+            List<Class<?>> key = Arrays.<Class<?>>asList(parameterTypes);
+            result = (Constructor<T>)constructors.get(key);
+            if (result == null) {
+                try {
+                    result = type.getConstructor(parameterTypes);
+                }
+                catch (NoSuchMethodException e) {
+                    throw new ReflectionException(e);
+                }
+                Constructor<?> existing = constructors.putIfAbsent(key, result);
+                if (existing != null) {
+                    result = (Constructor<T>)existing;
+                }
+            }
+            constructor = result;
+        }
+        return result;
+    }
+}
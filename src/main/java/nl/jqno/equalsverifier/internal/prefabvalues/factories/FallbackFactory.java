@@ -16,7 +16,10 @@
 package nl.jqno.equalsverifier.internal.prefabvalues.factories;
 
 import nl.jqno.equalsverifier.internal.ClassAccessor;
+import nl.jqno.equalsverifier.internal.FieldAccessor;
 import nl.jqno.equalsverifier.internal.FieldIterable;
+import nl.jqno.equalsverifier.internal.Instantiator;
+import nl.jqno.equalsverifier.internal.ObjectAccessor;
 import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.Tuple;
@@ -25,7 +28,7 @@ import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.LinkedHashSet;
+import java.util.*;
 
 /**
  * Implementation of {@link PrefabValueFactory} that instantiates types
@@ -33,8 +36,12 @@ import java.util.LinkedHashSet;
  *
  * It instantiates the type using bytecode magic, bypassing the constructor.
  * Then it uses {@link PrefabValues} to fill up all the fields, recursively.
+ *
+ * As a {@link ValueStreamFactory}, the n-th instance gets the n-th value of
+ * each field's own stream. Fields whose stream has run out keep their last
+ * value; the stream ends when all of them have run out.
  */
-public class FallbackFactory<T> implements PrefabValueFactory<T> {
+public class FallbackFactory<T> implements PrefabValueFactory<T>, ValueStreamFactory<T> {
     @Override
     public Tuple<T> createValues(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
         @SuppressWarnings("unchecked")
@@ -99,4 +106,93 @@ public class FallbackFactory<T> implements PrefabValueFactory<T> {
         T black = accessor.getBlackObject(tag);
         return new Tuple<>(red, black);
     }
+
+    @Override
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        @SuppressWarnings("unchecked")
+        LinkedHashSet<TypeTag> clone = (LinkedHashSet<TypeTag>)typeStack.clone();
+        clone.add(tag);
+
+        Class<T> type = tag.getType();
+        if (type.isEnum()) {
+            return Arrays.asList(type.getEnumConstants()).iterator();
+        }
+        if (type.isArray()) {
+            return streamArrayInstances(tag, prefabValues, clone);
+        }
+
+        return new InstanceIterator(tag, prefabValues, clone);
+    }
+
+    private Iterator<T> streamArrayInstances(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        Class<T> type = tag.getType();
+        final Class<?> componentType = type.getComponentType();
+        Iterator<Object> components = prefabValues.giveValues(new TypeTag(componentType), typeStack);
+
+        return new MappingIterator<Object, T>(components) {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected T map(Object value) {
+                T result = (T)Array.newInstance(componentType, 1);
+                Array.set(result, 0, value);
+                return result;
+            }
+        };
+    }
+
+    private class InstanceIterator implements Iterator<T> {
+        private final Instantiator<T> instantiator;
+        private final Map<Field, Iterator<Object>> fieldStreams = new LinkedHashMap<>();
+        private final Map<Field, Object> currentValues = new HashMap<>();
+        private boolean first = true;
+
+        public InstanceIterator(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+            this.instantiator = Instantiator.of(tag.<T>getType());
+            for (Field field : FieldIterable.of(tag.getType())) {
+                FieldAccessor accessor = new FieldAccessor(null, field);
+                if (accessor.canBeModifiedReflectively() && !accessor.fieldIsStatic()) {
+                    fieldStreams.put(field, prefabValues.giveValues(TypeTag.of(field, tag), typeStack));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (first) {
+                return true;
+            }
+            for (Iterator<Object> stream : fieldStreams.values()) {
+                if (stream.hasNext()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            first = false;
+
+            ObjectAccessor<T> accessor = ObjectAccessor.of(instantiator.instantiate());
+            for (Map.Entry<Field, Iterator<Object>> entry : fieldStreams.entrySet()) {
+                Field field = entry.getKey();
+                Iterator<Object> stream = entry.getValue();
+                if (stream.hasNext()) {
+                    currentValues.put(field, stream.next());
+                }
+                if (currentValues.containsKey(field)) {
+                    accessor.fieldAccessorFor(field).set(currentValues.get(field));
+                }
+            }
+            return accessor.get();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -19,17 +19,49 @@ import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.Tuple;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 
 /**
  * Implementation of {@link PrefabValueFactory} that specializes in creating
  * implementations of {@link Map}, taking generics into account.
+ *
+ * As a {@link ValueStreamFactory}, it maps each value of the key type's
+ * stream to the black value of the value type.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
-public abstract class MapFactory<T extends Map> extends AbstractReflectiveGenericFactory<T> {
+public abstract class MapFactory<T extends Map> extends AbstractReflectiveGenericFactory<T>
+        implements ValueStreamFactory<T> {
     public abstract T createEmpty();
 
+    /**
+     * Returns a factory that creates empty Maps by calling a constructor,
+     * so that a factory for a type doesn't need a class of its own.
+     *
+     * @param type The type of Map to create.
+     * @param parameterTypes The parameter types of the constructor.
+     * @param arguments The arguments to pass to the constructor.
+     * @param <T> The type of Map to create.
+     * @return A factory for {@code type}.
+     */
+    public static <T extends Map> MapFactory<T> constructing(Class<T> type, Class<?>[] parameterTypes, Object[] arguments) {
+        return new Constructing<>(new ConstructorDescriptor<>(type, parameterTypes, arguments));
+    }
+
+    private static final class Constructing<T extends Map> extends MapFactory<T> {
+        private final ConstructorDescriptor<T> descriptor;
+
+        private Constructing(ConstructorDescriptor<T> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public T createEmpty() {
+            return descriptor.newInstance();
+        }
+    }
+
     @Override
     public Tuple<T> createValues(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
         LinkedHashSet<TypeTag> clone = cloneWith(typeStack, tag);
@@ -45,4 +77,21 @@ public abstract class MapFactory<T extends Map> extends AbstractReflectiveGeneri
 
         return new Tuple<>(red, black);
     }
+
+    @Override
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        LinkedHashSet<TypeTag> clone = cloneWith(typeStack, tag);
+        TypeTag keyTag = determineActualTypeTagFor(0, tag);
+        final TypeTag valueTag = determineAndCacheActualTypeTag(1, tag, prefabValues, clone);
+        final Object value = prefabValues.giveBlack(valueTag);
+
+        return new MappingIterator<Object, T>(prefabValues.giveValues(keyTag, clone)) {
+            @Override
+            protected T map(Object key) {
+                T result = createEmpty();
+                result.put(key, value);
+                return result;
+            }
+        };
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues.factories;
+
+import java.util.Iterator;
+
+/**
+ * Lazily turns each value of an underlying {@link Iterator} into a value of
+ * another type. Used by {@link ValueStreamFactory} implementations that
+ * wrap the values of a generic parameter, such as collections.
+ *
+ * @param <S> The type of the underlying values.
+ * @param <T> The type of the resulting values.
+ */
+public abstract class MappingIterator<S, T> implements Iterator<T> {
+    private final Iterator<S> source;
+
+    public MappingIterator(Iterator<S> source) {
+        this.source = source;
+    }
+
+    protected abstract T map(S value);
+
+    @Override
+    public boolean hasNext() {
+        return source.hasNext();
+    }
+
+    @Override
+    public T next() {
+        return map(source.next());
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
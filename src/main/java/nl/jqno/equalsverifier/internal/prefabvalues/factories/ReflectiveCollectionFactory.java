@@ -23,6 +23,8 @@ import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 
 import static nl.jqno.equalsverifier.internal.ConditionalInstantiator.classes;
@@ -31,8 +33,12 @@ import static nl.jqno.equalsverifier.internal.ConditionalInstantiator.objects;
 /**
  * Implementation of {@link PrefabValueFactory} that instantiates collections
  * using reflection, while taking generics into account.
+ *
+ * As a {@link ValueStreamFactory}, it wraps each value of the element type's
+ * stream in a collection of its own.
  */
-public abstract class ReflectiveCollectionFactory<T> extends AbstractReflectiveGenericFactory<T> {
+public abstract class ReflectiveCollectionFactory<T> extends AbstractReflectiveGenericFactory<T>
+        implements ValueStreamFactory<T> {
     private final String typeName;
 
     /* default */ ReflectiveCollectionFactory(String typeName) {
@@ -77,6 +83,23 @@ public abstract class ReflectiveCollectionFactory<T> extends AbstractReflectiveG
         return Tuple.of(red, black);
     }
 
+    @Override
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        if (ConditionalInstantiator.forName(typeName) == null) {
+            return Collections.emptyIterator();
+        }
+        LinkedHashSet<TypeTag> clone = cloneWith(typeStack, tag);
+        TypeTag entryTag = determineActualTypeTagFor(0, tag);
+
+        return new MappingIterator<Object, T>(prefabValues.giveValues(entryTag, clone)) {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected T map(Object value) {
+                return (T)createWith(value);
+            }
+        };
+    }
+
     private Object createWith(Object value) {
         Class<?> type = ConditionalInstantiator.forName(typeName);
         if (type == null) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues.factories;
+
+import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of {@link ValueStreamFactory} that computes the n-th value
+ * of a type from n, such as a counter for numeric types.
+ */
+public abstract class SequenceFactory<T> implements ValueStreamFactory<T> {
+    private final int size;
+
+    /**
+     * Constructor for a practically infinite sequence.
+     */
+    public SequenceFactory() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param size The number of distinct values that {@link #valueAt(int)}
+     *          can produce.
+     */
+    public SequenceFactory(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Computes the value at the given position in the sequence. Must return
+     * unequal values for different indices smaller than the size of the
+     * sequence.
+     *
+     * @param index The position in the sequence.
+     * @return The value at that position.
+     */
+    protected abstract T valueAt(int index);
+
+    @Override
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack) {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return valueAt(index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -26,7 +26,7 @@ import java.util.LinkedHashSet;
  * that have already been created.
  */
 public class SimpleFactory<T> implements PrefabValueFactory<T> {
-    private Tuple<T> tuple;
+    private final Tuple<T> tuple;
 
     public SimpleFactory(T red, T black) {
         this.tuple = new Tuple<>(red, black);
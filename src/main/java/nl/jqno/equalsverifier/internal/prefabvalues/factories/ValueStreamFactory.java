@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015-2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues.factories;
+
+import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Creates any number of distinct instances of a type, for use in analyses
+ * that need more than a red and a black value.
+ *
+ * Values are produced lazily, one at a time, when the returned
+ * {@link Iterator} is advanced.
+ *
+ * @param <T> The type to instantiate.
+ */
+public interface ValueStreamFactory<T> {
+    /**
+     * Creates a stream of mutually unequal values.
+     *
+     * The stream may be finite, for example for enums and booleans, or
+     * practically infinite, for example for ints and Strings.
+     *
+     * @param tag The typetag of the type for which to create values.
+     * @param prefabValues Repository for querying value streams of generic
+     *          types of the type tag.
+     * @param typeStack A stack of {@link TypeTag}s that require tag in order
+     *          to be created. Used for recursion detection.
+     * @return An {@link Iterator} over values of {@code T}.
+     */
+    public Iterator<T> createStream(TypeTag tag, PrefabValues prefabValues, LinkedHashSet<TypeTag> typeStack);
+}
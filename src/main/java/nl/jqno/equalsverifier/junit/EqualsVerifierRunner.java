@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.junit;
+
+import nl.jqno.equalsverifier.ClassDiscovery;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JUnit 4 runner that verifies every class in one or more packages that
+ * declares {@code equals} or {@code hashCode}.
+ *
+ * Each verified class is reported as a separate test. Use, for example,
+ * like this:
+ *
+ * <pre>
+ * &#64;RunWith(EqualsVerifierRunner.class)
+ * &#64;VerifyPackages(value = "com.example.domain", parallelism = 4,
+ *         overrides = &#64;VerifyClass(value = Money.class, suppress = Warning.NULL_FIELDS))
+ * public class DomainEqualsTest {}
+ * </pre>
+ *
+ * The verifications, including concurrent ones, share the prefabricated
+ * values for Java API classes, which are created only once per JVM.
+ *
+ * @author Jan Ouwens
+ */
+public class EqualsVerifierRunner extends ParentRunner<Class<?>> {
+    private final VerifyPackages suite;
+    private final Map<Class<?>, VerifyClass> overrides = new HashMap<>();
+    private final List<Class<?>> children = new ArrayList<>();
+    private final Map<Class<?>, Description> descriptions = new HashMap<>();
+
+    /**
+     * Constructor. Called by JUnit.
+     *
+     * @param testClass The class annotated with {@link VerifyPackages}.
+     * @throws InitializationError If the annotation is missing or invalid,
+     *          or if the packages can't be scanned.
+     */
+    public EqualsVerifierRunner(Class<?> testClass) throws InitializationError {
+        super(testClass);
+        this.suite = testClass.getAnnotation(VerifyPackages.class);
+        if (suite == null) {
+            throw new InitializationError("Class " + testClass.getName() + " must be annotated with @" +
+                    VerifyPackages.class.getSimpleName() + ".");
+        }
+        if (suite.parallelism() < 1) {
+            throw new InitializationError("Parallelism must be at least 1.");
+        }
+
+        for (VerifyClass override : suite.overrides()) {
+            overrides.put(override.value(), override);
+        }
+        for (Class<?> type : discover(testClass)) {
+            VerifyClass override = overrides.get(type);
+            if (type != testClass && (override == null || !override.skip())) {
+                children.add(type);
+                descriptions.put(type, Description.createTestDescription(testClass, type.getName()));
+            }
+        }
+
+        if (suite.parallelism() > 1) {
+            setScheduler(new ParallelScheduler(suite.parallelism()));
+        }
+    }
+
+    private List<Class<?>> discover(Class<?> testClass) throws InitializationError {
+        try {
+            return ClassDiscovery.forPackages(testClass.getClassLoader(), suite.value())
+                    .findClasses(testClass.getClassLoader());
+        }
+        catch (IllegalStateException e) {
+            throw new InitializationError(e);
+        }
+    }
+
+    @Override
+    protected List<Class<?>> getChildren() {
+        return children;
+    }
+
+    @Override
+    protected Description describeChild(Class<?> type) {
+        return descriptions.get(type);
+    }
+
+    @Override
+    protected void runChild(final Class<?> type, RunNotifier notifier) {
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() {
+                verifierFor(type).verify();
+            }
+        };
+        runLeaf(statement, describeChild(type), notifier);
+    }
+
+    private <T> EqualsVerifier<T> verifierFor(Class<T> type) {
+        EqualsVerifier<T> result = EqualsVerifier.forClass(type)
+                .suppress(suite.suppress());
+        if (suite.usingGetClass()) {
+            result = result.usingGetClass();
+        }
+        if (!suite.resultCache().isEmpty()) {
+            result = result.withResultCache(new File(suite.resultCache()));
+        }
+
+        VerifyClass override = overrides.get(type);
+        if (override != null) {
+            result = result.suppress(override.suppress());
+            if (override.ignoredFields().length > 0) {
+                result = result.withIgnoredFields(override.ignoredFields());
+            }
+            if (override.usingGetClass()) {
+                result = result.usingGetClass();
+            }
+        }
+        return result;
+    }
+
+    private static final class ParallelScheduler implements RunnerScheduler {
+        private final ExecutorService executor;
+
+        public ParallelScheduler(int parallelism) {
+            this.executor = Executors.newFixedThreadPool(parallelism);
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            executor.submit(childStatement);
+        }
+
+        @Override
+        public void finished() {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
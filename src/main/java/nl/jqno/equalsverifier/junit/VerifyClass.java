@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.junit;
+
+import nl.jqno.equalsverifier.Warning;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the verification of a single class in a
+ * {@link VerifyPackages} suite, in addition to the configuration of the
+ * suite itself.
+ *
+ * @author Jan Ouwens
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface VerifyClass {
+    /**
+     * @return The class to which this configuration applies.
+     */
+    Class<?> value();
+
+    /**
+     * @return Whether the class should not be verified at all.
+     */
+    boolean skip() default false;
+
+    /**
+     * @return The warnings to suppress for this class, in addition to those
+     *          suppressed for the whole suite.
+     */
+    Warning[] suppress() default {};
+
+    /**
+     * @return The fields that the class's {@code equals} ignores.
+     */
+    String[] ignoredFields() default {};
+
+    /**
+     * @return Whether the class uses {@code getClass()} in {@code equals}.
+     */
+    boolean usingGetClass() default false;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.junit;
+
+import nl.jqno.equalsverifier.Warning;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the classes that {@link EqualsVerifierRunner} verifies.
+ *
+ * @author Jan Ouwens
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface VerifyPackages {
+    /**
+     * @return The packages whose classes should be verified, including their
+     *          subpackages. Only classes that declare {@code equals} or
+     *          {@code hashCode} are verified.
+     */
+    String[] value();
+
+    /**
+     * @return The warnings to suppress for every class.
+     */
+    Warning[] suppress() default {};
+
+    /**
+     * @return Whether every class uses {@code getClass()} in {@code equals}.
+     */
+    boolean usingGetClass() default false;
+
+    /**
+     * @return The maximum number of classes to verify at the same time.
+     */
+    int parallelism() default 1;
+
+    /**
+     * @return The path of the file in which to record passed verifications,
+     *          or the empty string to verify every class every time.
+     * @see nl.jqno.equalsverifier.EqualsVerifier#withResultCache(java.io.File)
+     */
+    String resultCache() default "";
+
+    /**
+     * @return Configuration for individual classes.
+     */
+    VerifyClass[] overrides() default {};
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class CachedHashCodeInitializerTest {
+    @Test
+    public void recomputeCachedHashCode() {
+        CachedHashCodeInitializer<Cached> initializer = initializerFor(Cached.class);
+        Cached cached = new Cached(3);
+
+        assertEquals(0, cached.cachedHashCode);
+        assertEquals(93, initializer.getInitializedHashCode(cached));
+        assertEquals(93, cached.cachedHashCode);
+    }
+
+    @Test
+    public void passThroughHashCode_givenPassthrough() {
+        Cached cached = new Cached(3);
+
+        assertEquals(0, CachedHashCodeInitializer.passthrough().getInitializedHashCode(cached));
+    }
+
+    @Test
+    public void rethrowRuntimeExceptionUnwrapped() {
+        CachedHashCodeInitializer<Throwing> initializer = initializerFor(Throwing.class);
+        try {
+            initializer.getInitializedHashCode(new Throwing(new IllegalStateException("boom")));
+            fail("Expected an exception.");
+        }
+        catch (IllegalStateException e) {
+            assertEquals("boom", e.getMessage());
+        }
+    }
+
+    @Test
+    public void rethrowError() {
+        CachedHashCodeInitializer<Throwing> initializer = initializerFor(Throwing.class);
+        try {
+            initializer.getInitializedHashCode(new Throwing(new StackOverflowError("boom")));
+            fail("Expected an error.");
+        }
+        catch (StackOverflowError e) {
+            assertEquals("boom", e.getMessage());
+        }
+    }
+
+    @Test
+    public void wrapCheckedException() {
+        CachedHashCodeInitializer<Throwing> initializer = initializerFor(Throwing.class);
+        IOException checked = new IOException("boom");
+        try {
+            initializer.getInitializedHashCode(new Throwing(checked));
+            fail("Expected an exception.");
+        }
+        catch (ReflectionException e) {
+            assertSame(checked, e.getCause());
+        }
+    }
+
+    private static <T> CachedHashCodeInitializer<T> initializerFor(Class<T> type) {
+        return new CachedHashCodeInitializer<>(type, "cachedHashCode", "calculateHashCode", null);
+    }
+
+    static final class Cached {
+        private final int x;
+        private int cachedHashCode;
+
+        public Cached(int x) { this.x = x; }
+
+        private int calculateHashCode() {
+            return 31 * x;
+        }
+
+        @Override
+        public int hashCode() {
+            return cachedHashCode;
+        }
+    }
+
+    static final class Throwing {
+        private final Throwable toThrow;
+        private int cachedHashCode;
+
+        public Throwing(Throwable toThrow) { this.toThrow = toThrow; }
+
+        private int calculateHashCode() {
+            Throwing.<RuntimeException>sneakyThrow(toThrow);
+            return 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Throwable> void sneakyThrow(Throwable e) throws E {
+            throw (E)e;
+        }
+    }
+}
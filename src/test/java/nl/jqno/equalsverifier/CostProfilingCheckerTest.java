@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.exceptions.AssertionException;
+import org.junit.Test;
+
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultEquals;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CostProfilingCheckerTest {
+    private static final long SECOND = 1000000000L;
+    private static final FakeClock CLOCK = new FakeClock();
+
+    private final StringBuilder report = new StringBuilder();
+
+    @Test
+    public void reportFieldCost_asMeasuredByTheClock() {
+        CLOCK.reset(0);
+        check(Costly.class, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        String name = Costly.class.getName();
+        assertThat(report.toString(), containsString(name + ",expensive,hashCode,1000.0\n"));
+        assertThat(report.toString(), containsString(name + ",expensive,equals,0.0\n"));
+        assertThat(report.toString(), containsString(name + ",cheap,hashCode,0.0\n"));
+    }
+
+    @Test
+    public void failWithFieldCost_whenItExceedsTheFieldThreshold() {
+        CLOCK.reset(0);
+        try {
+            check(Costly.class, Long.MAX_VALUE, 999);
+            fail("Cost profiling should have failed.");
+        }
+        catch (AssertionException e) {
+            assertThat(e.getMessage(), containsString("field expensive adds 1000 ns to each call of hashCode"));
+        }
+    }
+
+    @Test
+    public void reportUnknownFields_whenProfilingRunsOutOfTime() {
+        CLOCK.reset(SECOND);
+        check(ThreeFields.class, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        String name = ThreeFields.class.getName();
+        assertThat(report.toString(), not(containsString(name + ",a,equals,\n")));
+        assertThat(report.toString(), containsString(name + ",b,equals,\n"));
+        assertThat(report.toString(), containsString(name + ",c,hashCode,\n"));
+    }
+
+    @Test
+    public void listUnknownFieldsInMessage_whenProfilingRunsOutOfTime() {
+        CLOCK.reset(SECOND);
+        try {
+            check(ThreeFields.class, 1, Long.MAX_VALUE);
+            fail("Cost profiling should have failed.");
+        }
+        catch (AssertionException e) {
+            assertThat(e.getMessage(), containsString("The cost of these fields is unknown: [b, c]."));
+        }
+    }
+
+    private <T> void check(Class<T> type, long callThresholdNanos, long fieldThresholdNanos) {
+        Configuration<T> config = Configuration.of(type)
+                .withCostProfiling(callThresholdNanos, fieldThresholdNanos, report);
+        new CostProfilingChecker<>(VerificationPlan.of(config), CLOCK).check();
+    }
+
+    /**
+     * Advances by a fixed step each time it's read, and by the work that
+     * the profiled methods report.
+     */
+    static final class FakeClock implements CostProfilingChecker.Clock {
+        private long now;
+        private long step;
+
+        public void reset(long newStep) {
+            now = 0;
+            step = newStep;
+        }
+
+        public void advance(long nanos) {
+            now += nanos;
+        }
+
+        @Override
+        public long nanoTime() {
+            now += step;
+            return now;
+        }
+    }
+
+    static final class Costly {
+        private final int cheap;
+        private final String expensive;
+
+        public Costly(int cheap, String expensive) { this.cheap = cheap; this.expensive = expensive; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+
+        @Override
+        public int hashCode() {
+            if (expensive != null) {
+                CLOCK.advance(1000);
+            }
+            return 31 * cheap + (expensive == null ? 0 : expensive.hashCode());
+        }
+    }
+
+    static final class ThreeFields {
+        private final int a;
+        private final int b;
+        private final int c;
+
+        public ThreeFields(int a, int b, int c) { this.a = a; this.b = b; this.c = c; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return 31 * (31 * a + b) + c; }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.internal.exceptions.AssertionException;
+import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
+import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
+import nl.jqno.equalsverifier.internal.prefabvalues.factories.ValueStreamFactory;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultEquals;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class HashQualityCheckerTest {
+    @Test
+    public void checkOtherFields_whenOneFieldHasNoValues() {
+        try {
+            check(ConstantHashCodeWithNoValues.class);
+            fail("Hash quality analysis should have failed.");
+        }
+        catch (AssertionException e) {
+            assertThat(e.getMessage(), containsString("unequal instances share their hashCode"));
+        }
+    }
+
+    @Test
+    public void sampleOtherFields_whenOneFieldHasNoValues_givenTooManyCombinations() {
+        check(ManyCombinationsWithNoValues.class);
+    }
+
+    @Test
+    public void failOnAvalanche_whenChangingAFieldRarelyChangesHashCode() {
+        try {
+            check(IgnoresFirstFieldForSomeValues.class);
+            fail("Hash quality analysis should have failed.");
+        }
+        catch (AssertionException e) {
+            assertThat(e.getMessage(), containsString("changing field a leaves hashCode unchanged in 32 of 32 cases"));
+        }
+    }
+
+    private <T> void check(Class<T> type) {
+        Configuration<T> config = Configuration.of(type).withHashQualityAnalysis();
+        PrefabValues prefabValues = config.getPrefabValues();
+        prefabValues.addFactory(NoValues.class, new NoValues(1), new NoValues(2));
+        prefabValues.addStreamFactory(NoValues.class, new ValueStreamFactory<NoValues>() {
+            @Override
+            public Iterator<NoValues> createStream(TypeTag tag, PrefabValues p, LinkedHashSet<TypeTag> typeStack) {
+                return Collections.emptyIterator();
+            }
+        });
+        new HashQualityChecker<>(VerificationPlan.of(config)).check();
+    }
+
+    static final class NoValues {
+        private final int i;
+
+        public NoValues(int i) { this.i = i; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return i; }
+    }
+
+    enum Eight { A, B, C, D, E, F, G, H }
+
+    static final class ConstantHashCodeWithNoValues {
+        private final int a;
+        private final NoValues e;
+
+        public ConstantHashCodeWithNoValues(int a, NoValues e) { this.a = a; this.e = e; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return 42; }
+    }
+
+    static final class ManyCombinationsWithNoValues {
+        private final Eight a;
+        private final Eight b;
+        private final Eight c;
+        private final Eight d;
+        private final NoValues e;
+
+        public ManyCombinationsWithNoValues(Eight a, Eight b, Eight c, Eight d, NoValues e) {
+            this.a = a; this.b = b; this.c = c; this.d = d; this.e = e;
+        }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return Objects.hash(a, b, c, d); }
+    }
+
+    /**
+     * Ignores a in the first 32 of the 512 combinations that the analysis
+     * generates: few enough to pass the collision and bucket checks, but all
+     * of the instances in which the analysis changes a single field.
+     */
+    static final class IgnoresFirstFieldForSomeValues {
+        private final Eight a;
+        private final Eight b;
+        private final Eight c;
+
+        public IgnoresFirstFieldForSomeValues(Eight a, Eight b, Eight c) { this.a = a; this.b = b; this.c = c; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+
+        @Override
+        public int hashCode() {
+            if (b.ordinal() < 4 && c.ordinal() == 0) {
+                return Objects.hash(b, c);
+            }
+            return Objects.hash(a, b, c);
+        }
+    }
+}
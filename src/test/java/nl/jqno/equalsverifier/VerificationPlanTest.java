@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier;
+
+import nl.jqno.equalsverifier.VerificationPlan.PlannedField;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VerificationPlanTest {
+    private final Configuration<Planned> config = Configuration.of(Planned.class);
+
+    @Test
+    public void fieldsAreListedInDeclarationOrder() {
+        VerificationPlan<Planned> plan = VerificationPlan.of(config);
+        List<PlannedField> fields = plan.getFields();
+
+        assertEquals(4, fields.size());
+        assertEquals("i", fields.get(0).getName());
+        assertEquals("s", fields.get(1).getName());
+        assertEquals("nonnull", fields.get(2).getName());
+        assertEquals("CONSTANT", fields.get(3).getName());
+    }
+
+    @Test
+    public void fieldFlagsAreDerived() throws NoSuchFieldException {
+        VerificationPlan<Planned> plan = VerificationPlan.of(config.withIgnoredFields(Arrays.asList("s")));
+
+        PlannedField i = plan.fieldFor(Planned.class.getDeclaredField("i"));
+        assertTrue(i.isPrimitive());
+        assertTrue(i.isFinal());
+        assertFalse(i.isIgnored());
+        assertFalse(i.isNullCheckApplicable());
+
+        PlannedField s = plan.fieldFor(Planned.class.getDeclaredField("s"));
+        assertTrue(s.isIgnored());
+        assertFalse(s.isNonnull());
+        assertTrue(s.isNullCheckApplicable());
+        assertTrue(s.isSignificanceChecked());
+
+        PlannedField nonnull = plan.fieldFor(Planned.class.getDeclaredField("nonnull"));
+        assertTrue(nonnull.isNonnull());
+        assertFalse(nonnull.isNullCheckApplicable());
+
+        PlannedField constant = plan.fieldFor(Planned.class.getDeclaredField("CONSTANT"));
+        assertTrue(constant.isStatic());
+        assertFalse(constant.canBeModifiedReflectively());
+        assertFalse(constant.isSignificanceChecked());
+    }
+
+    @Test
+    public void warningsAreApplied() throws NoSuchFieldException {
+        VerificationPlan<Planned> plan =
+                VerificationPlan.of(config.withWarningsToSuppress(EnumSet.of(Warning.NULL_FIELDS, Warning.ALL_FIELDS_SHOULD_BE_USED)));
+
+        assertTrue(plan.isSuppressed(Warning.NULL_FIELDS));
+        assertFalse(plan.isSuppressed(Warning.NONFINAL_FIELDS));
+
+        PlannedField s = plan.fieldFor(Planned.class.getDeclaredField("s"));
+        assertFalse(s.isNullCheckApplicable());
+        assertFalse(s.isSignificanceChecked());
+    }
+
+    @Test
+    public void derivedFactsAreShared_whenUnequalExamplesAreAdded() {
+        VerificationPlan<Planned> plan = VerificationPlan.of(config);
+        List<Planned> examples = Collections.singletonList(new Planned(1, "a", "b"));
+        VerificationPlan<Planned> withExamples = plan.withUnequalExamples(examples);
+
+        assertSame(plan.getClassAccessor(), withExamples.getClassAccessor());
+        assertSame(plan.getFields(), withExamples.getFields());
+        assertEquals(examples, withExamples.getUnequalExamples());
+        assertTrue(plan.getUnequalExamples().isEmpty());
+    }
+
+    @Test
+    public void mutatedStaticFieldsIncludePrimitives_evenWhenNullFieldsWarningIsSuppressed() throws NoSuchFieldException {
+        Configuration<WithStatics> staticsConfig = Configuration.of(WithStatics.class)
+                .withWarningsToSuppress(EnumSet.of(Warning.NULL_FIELDS));
+        List<Field> mutated = VerificationPlan.of(staticsConfig).getMutatedStaticFields();
+
+        assertEquals(Arrays.asList(
+                WithStatics.class.getDeclaredField("d"),
+                WithStatics.class.getDeclaredField("s")), mutated);
+    }
+
+    @SuppressWarnings("unused")
+    static final class Planned {
+        private final int i;
+        private final String s;
+        @Nonnull private final String nonnull;
+        private static final String CONSTANT = "constant";
+
+        public Planned(int i, String s, String nonnull) { this.i = i; this.s = s; this.nonnull = nonnull; }
+    }
+
+    @SuppressWarnings("unused")
+    static final class WithStatics {
+        private final int i;
+        private static double d = 1.0;
+        private static String s = "s";
+        private static final String CONSTANT = "constant";
+
+        public WithStatics(int i) { this.i = i; }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli;
+
+import nl.jqno.equalsverifier.cli.fixtures.ErrorFixtures;
+import nl.jqno.equalsverifier.junit.fixtures.RunnerFixtures;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MainTest {
+    private static final String FIXTURES = RunnerFixtures.class.getPackage().getName();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    public void exitWithFailure_whenAClassFails() throws Exception {
+        File report = folder.newFile("report.json");
+
+        int exitCode = run("--classpath", testClasses(), "--packages", FIXTURES, "--report", report.getPath());
+
+        assertEquals(Main.EXIT_FAILED, exitCode);
+        assertThat(out.toString(), containsString("Verified 3 classes: 1 passed, 2 failed."));
+        String json = read(report);
+        assertThat(json, containsString("{\"class\":\"" + RunnerFixtures.Correct.class.getName() + "\",\"passed\":true"));
+        assertThat(json, containsString("\"passed\":false"));
+        assertThat(json, containsString("Mutability"));
+        assertThat(json, containsString("\"summary\":{\"classes\":3,\"failures\":2}"));
+    }
+
+    @Test
+    public void exitWithSuccess_whenAllClassesPass() throws Exception {
+        int exitCode = run("--classpath", testClasses(), "--packages", FIXTURES, "--threads", "4",
+                "--suppress", "NONFINAL_FIELDS,ALL_FIELDS_SHOULD_BE_USED");
+
+        assertEquals(Main.EXIT_PASSED, exitCode);
+        assertThat(out.toString(), containsString("Verified 3 classes: 3 passed, 0 failed."));
+    }
+
+    @Test
+    public void writeJUnitXml_whenReportEndsInXml() throws Exception {
+        File report = folder.newFile("report.xml");
+
+        run("--classpath", testClasses(), "--packages", FIXTURES, "--report", report.getPath());
+
+        String xml = read(report);
+        assertThat(xml, containsString("<testsuite name=\"EqualsVerifier\" tests=\"3\" failures=\"2\" time=\""));
+        assertThat(xml, containsString("<testcase classname=\"" + RunnerFixtures.Correct.class.getName() + "\""));
+        assertThat(xml, containsString("<failure message="));
+        assertThat(xml, containsString("</testsuite>"));
+    }
+
+    @Test
+    public void exitWithError_whenArgumentsAreInvalid() {
+        int exitCode = run("--packages", FIXTURES);
+
+        assertEquals(Main.EXIT_ERROR, exitCode);
+        assertThat(err.toString(), containsString("No classpath given."));
+        assertThat(err.toString(), containsString("Usage:"));
+    }
+
+    @Test
+    public void exitWithError_whenWarningIsUnknown() throws Exception {
+        int exitCode = run("--classpath", testClasses(), "--packages", FIXTURES, "--suppress", "NO_SUCH_WARNING");
+
+        assertEquals(Main.EXIT_ERROR, exitCode);
+        assertThat(err.toString(), containsString("Unknown warning NO_SUCH_WARNING."));
+        assertThat(out.toString(), not(containsString("Verified")));
+    }
+
+    @Test
+    public void reportFailure_whenVerificationThrowsAnError() throws Exception {
+        int exitCode = run("--classpath", testClasses(), "--packages", ErrorFixtures.class.getPackage().getName());
+
+        assertEquals(Main.EXIT_FAILED, exitCode);
+        assertThat(out.toString(), containsString("FAILED " + ErrorFixtures.EqualsThrowsError.class.getName()));
+        assertThat(out.toString(), containsString("Verified 1 classes: 0 passed, 1 failed."));
+    }
+
+    @Test
+    public void exitWithError_whenAClassFileCannotBeParsed() throws Exception {
+        File root = folder.newFolder("classes");
+        File packageDirectory = new File(root, "com/example");
+        assertTrue(packageDirectory.mkdirs());
+        byte[] classFile = Files.readAllBytes(new File(testClasses(),
+                RunnerFixtures.Correct.class.getName().replace('.', '/') + ".class").toPath());
+        // Bytes 6 and 7 hold the major version; 99 is newer than any Java release.
+        classFile[6] = 0;
+        classFile[7] = 99;
+        Files.write(new File(packageDirectory, "Future.class").toPath(), classFile);
+
+        int exitCode = run("--classpath", root.getPath(), "--packages", "com.example");
+
+        assertEquals(Main.EXIT_ERROR, exitCode);
+        assertThat(err.toString(), containsString("Future.class"));
+        assertThat(out.toString(), not(containsString("Verified")));
+    }
+
+    private int run(String... args) {
+        return Main.run(new PrintStream(out), new PrintStream(err), args);
+    }
+
+    private String testClasses() throws URISyntaxException {
+        return new File(RunnerFixtures.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
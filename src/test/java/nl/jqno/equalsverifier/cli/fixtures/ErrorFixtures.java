@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.cli.fixtures;
+
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultHashCode;
+
+public final class ErrorFixtures {
+    private ErrorFixtures() {}
+
+    public static final class EqualsThrowsError {
+        private final int x;
+
+        public EqualsThrowsError(int x) { this.x = x; }
+
+        @Override
+        public boolean equals(Object obj) {
+            throw new InternalError("equals is broken");
+        }
+
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.internal.AllocationCounter;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static org.junit.Assume.assumeTrue;
+
+public class AllocationTest extends IntegrationTestBase {
+    @Test
+    public void succeed_whenMethodsDontAllocate_givenAllocationCheckIsUsed() {
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withAllocationCheck()
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenHashCodeUsesObjectsHash_givenAllocationCheckIsNotUsed() {
+        EqualsVerifier.forClass(ObjectsHashHashCode.class)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenHashCodeUsesObjectsHash_givenAllocationCheckIsUsed() {
+        expectFailure("Allocation", "hashCode calls Objects.hash");
+        EqualsVerifier.forClass(ObjectsHashHashCode.class)
+                .withAllocationCheck()
+                .verify();
+    }
+
+    @Test
+    public void fail_whenHashCodeAllocates_givenAllocationCheckIsUsed() {
+        assumeTrue(new AllocationCounter().isSupported());
+        expectFailure("Allocation", "hashCode allocates", "bytes per call");
+        EqualsVerifier.forClass(StringBuildingHashCode.class)
+                .withAllocationCheck()
+                .verify();
+    }
+
+    static final class ObjectsHashHashCode {
+        private final int x;
+        private final int y;
+
+        public ObjectsHashHashCode(int x, int y) { this.x = x; this.y = y; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ObjectsHashHashCode)) {
+                return false;
+            }
+            ObjectsHashHashCode other = (ObjectsHashHashCode)obj;
+            return x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, y);
+        }
+    }
+
+    static final class StringBuildingHashCode {
+        private final int x;
+        private final String y;
+
+        public StringBuildingHashCode(int x, String y) { this.x = x; this.y = y; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StringBuildingHashCode)) {
+                return false;
+            }
+            StringBuildingHashCode other = (StringBuildingHashCode)obj;
+            return x == other.x && Objects.equals(y, other.y);
+        }
+
+        @Override
+        public int hashCode() {
+            return (x + ":" + y).hashCode();
+        }
+    }
+}
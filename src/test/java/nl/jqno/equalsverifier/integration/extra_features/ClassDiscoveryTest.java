@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.ClassDiscovery;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.Color;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import nl.jqno.equalsverifier.testhelpers.types.Point;
+import nl.jqno.equalsverifier.testhelpers.types.TypeHelper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ClassDiscoveryTest extends IntegrationTestBase {
+    private static final String TYPES_PACKAGE = Point.class.getPackage().getName();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findClassesThatDeclareEquals_givenDirectory() throws URISyntaxException {
+        List<String> names = ClassDiscovery.forPaths(testClasses())
+                .inPackage(TYPES_PACKAGE)
+                .findClassNames();
+
+        assertTrue(names.contains(Point.class.getName()));
+        assertTrue(names.contains(FinalPoint.class.getName()));
+        assertFalse(names.contains(Color.class.getName()));
+        assertFalse(names.contains(TypeHelper.class.getName()));
+        assertFalse(names.contains(ClassDiscoveryTest.class.getName()));
+    }
+
+    @Test
+    public void findClassesThatDeclareEquals_givenJar() throws IOException {
+        File jar = folder.newFile("types.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            addEntry(out, Point.class);
+            addEntry(out, TypeHelper.class);
+        }
+
+        List<String> names = ClassDiscovery.forPaths(jar).findClassNames();
+
+        assertEquals(1, names.size());
+        assertEquals(Point.class.getName(), names.get(0));
+    }
+
+    @Test
+    public void nameTheClassFile_whenItsVersionIsNotSupported_givenJar() throws IOException {
+        File jar = folder.newFile("future.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("com/example/Future.class"));
+            out.write(futureClassFile(Point.class));
+            out.closeEntry();
+        }
+
+        expectException(IllegalStateException.class, "Could not read", "com/example/Future.class");
+        ClassDiscovery.forPaths(jar).findClassNames();
+    }
+
+    @Test
+    public void nameTheClassFile_whenItsVersionIsNotSupported_givenDirectory() throws IOException {
+        File directory = folder.newFolder("future");
+        File classFile = new File(directory, "Future.class");
+        try (FileOutputStream out = new FileOutputStream(classFile)) {
+            out.write(futureClassFile(Point.class));
+        }
+
+        expectException(IllegalStateException.class, "Could not read", "Future.class");
+        ClassDiscovery.forPaths(directory).findClassNames();
+    }
+
+    @Test
+    public void findNothing_givenPackageThatDoesNotExist() throws URISyntaxException {
+        List<String> names = ClassDiscovery.forPaths(testClasses())
+                .inPackage("com.example.doesnotexist")
+                .findClassNames();
+
+        assertTrue(names.isEmpty());
+    }
+
+    @Test
+    public void loadClassesWithoutInitializingThem() throws URISyntaxException {
+        List<Class<?>> types = ClassDiscovery.forPaths(testClasses())
+                .inPackage(ClassDiscoveryTest.class.getPackage().getName())
+                .findClasses(getClass().getClassLoader());
+
+        assertTrue(types.contains(ThrowsInStaticInitializer.class));
+        assertFalse(types.contains(ClassDiscoveryTest.class));
+    }
+
+    @Test
+    public void succeed_whenDiscoveredClassesAreVerified() throws URISyntaxException {
+        List<Class<?>> types = ClassDiscovery.forPaths(testClasses())
+                .inPackage(TYPES_PACKAGE)
+                .findClasses(getClass().getClassLoader());
+
+        assertTrue(types.contains(FinalPoint.class));
+        EqualsVerifier.forClass(types.get(types.indexOf(FinalPoint.class))).verify();
+    }
+
+    private File testClasses() throws URISyntaxException {
+        return new File(Point.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private void addEntry(ZipOutputStream out, Class<?> type) throws IOException {
+        out.putNextEntry(new ZipEntry(classFileName(type)));
+        out.write(classFile(type));
+        out.closeEntry();
+    }
+
+    private String classFileName(Class<?> type) {
+        return type.getName().replace('.', '/') + ".class";
+    }
+
+    private byte[] classFile(Class<?> type) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = type.getClassLoader().getResourceAsStream(classFileName(type))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] futureClassFile(Class<?> type) throws IOException {
+        byte[] result = classFile(type);
+        // Bytes 6 and 7 hold the major version; 99 is newer than any Java release.
+        result[6] = 0;
+        result[7] = 99;
+        return result;
+    }
+
+    static final class ThrowsInStaticInitializer {
+        static {
+            throwIllegalState();
+        }
+
+        private final int x;
+
+        public ThrowsInStaticInitializer(int x) { this.x = x; }
+
+        private static void throwIllegalState() {
+            throw new IllegalStateException("Should not be initialized");
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ThrowsInStaticInitializer && x == ((ThrowsInStaticInitializer)obj).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class CostProfilingTest extends IntegrationTestBase {
+    @Test
+    public void succeed_whenMethodsAreCheap_givenCostProfilingIsUsed() {
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withCostProfiling(1, 1, TimeUnit.SECONDS)
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenMethodsAreExpensive_givenCostProfilingIsNotUsed() {
+        EqualsVerifier.forClass(ExpensiveHashCode.class)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenFieldIsExpensiveToHash_givenCostProfilingIsUsed() {
+        expectFailure("Cost profiling", "field name", "hashCode", "exceeds the field threshold");
+        EqualsVerifier.forClass(ExpensiveHashCode.class)
+                .withCostProfiling(1, 100, TimeUnit.MICROSECONDS)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenCallIsExpensive_givenOnlyTheCallThresholdIsExceeded() {
+        expectFailure("Cost profiling", "hashCode takes", "exceeds the threshold");
+        EqualsVerifier.forClass(ExpensiveHashCode.class)
+                .withCostProfiling(100, 1000000, TimeUnit.MICROSECONDS)
+                .verify();
+    }
+
+    @Test
+    public void writeReport_givenCostProfilingIsUsedWithReport() {
+        StringBuilder report = new StringBuilder();
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withCostProfiling(1, 1, TimeUnit.SECONDS, report)
+                .verify();
+
+        String name = FinalPoint.class.getName();
+        assertThat(report.toString(), startsWith("class,field,method,nanos\n"));
+        assertThat(report.toString(), containsString(name + ",,equals,"));
+        assertThat(report.toString(), containsString(name + ",,hashCode,"));
+        assertThat(report.toString(), containsString(name + ",x,equals,"));
+        assertThat(report.toString(), containsString(name + ",y,hashCode,"));
+    }
+
+    @Test
+    public void throwException_whenCallThresholdIsNotPositive() {
+        expectException(IllegalArgumentException.class, "Threshold must be positive");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withCostProfiling(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void throwException_whenFieldThresholdIsNotPositive() {
+        expectException(IllegalArgumentException.class, "Threshold must be positive");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withCostProfiling(1, 0, TimeUnit.SECONDS);
+    }
+
+    static final class ExpensiveHashCode {
+        private static final int ROUNDS = 1000000;
+
+        private final String name;
+        private final int id;
+
+        public ExpensiveHashCode(String name, int id) { this.name = name; this.id = id; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ExpensiveHashCode)) {
+                return false;
+            }
+            ExpensiveHashCode other = (ExpensiveHashCode)obj;
+            return id == other.id && (name == null ? other.name == null : name.equals(other.name));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = id;
+            if (name != null) {
+                for (int i = 0; i < ROUNDS; i++) {
+                    result = 31 * result + name.charAt(i % name.length());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import org.junit.Test;
+
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultEquals;
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultHashCode;
+
+public class HashQualityTest extends IntegrationTestBase {
+    @Test
+    public void succeed_whenHashCodeIsPoor_givenHashQualityAnalysisIsNotUsed() {
+        EqualsVerifier.forClass(XorHashCode.class)
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenHashCodeIsWellDistributed_givenHashQualityAnalysisIsUsed() {
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenClassHasManyFields_givenHashQualityAnalysisIsUsed() {
+        EqualsVerifier.forClass(ManyFields.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    @Test
+    public void fail_whenFieldsCancelEachOtherOut_givenHashQualityAnalysisIsUsed() {
+        expectFailure("Hash quality", "unequal instances share their hashCode with another instance");
+        EqualsVerifier.forClass(XorHashCode.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    @Test
+    public void fail_whenFieldsAreSummed_givenHashQualityAnalysisIsUsed() {
+        expectFailure("Hash quality", "unequal instances share their hashCode with another instance");
+        EqualsVerifier.forClass(SummedHashCode.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    @Test
+    public void fail_whenLowBitsAreAlwaysZero_givenHashQualityAnalysisIsUsed() {
+        expectFailure("Hash quality", "buckets in a HashMap", "low bits");
+        EqualsVerifier.forClass(ShiftedHashCode.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    @Test
+    public void fail_whenHashCodeOnlyUsesTheLowestBitOfAField_givenHashQualityAnalysisIsUsed() {
+        expectFailure("Hash quality", "unequal instances share their hashCode with another instance");
+        EqualsVerifier.forClass(LowestBitHashCode.class)
+                .withHashQualityAnalysis()
+                .verify();
+    }
+
+    static final class XorHashCode {
+        private final int x;
+        private final int y;
+
+        public XorHashCode(int x, int y) { this.x = x; this.y = y; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof XorHashCode)) {
+                return false;
+            }
+            XorHashCode other = (XorHashCode)obj;
+            return x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return x ^ y;
+        }
+    }
+
+    static final class SummedHashCode {
+        private final String a;
+        private final String b;
+        private final String c;
+
+        public SummedHashCode(String a, String b, String c) { this.a = a; this.b = b; this.c = c; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return defaultEquals(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return defaultHashCode(this);
+        }
+    }
+
+    static final class ShiftedHashCode {
+        private final int x;
+        private final int y;
+        private final int z;
+
+        public ShiftedHashCode(int x, int y, int z) { this.x = x; this.y = y; this.z = z; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ShiftedHashCode)) {
+                return false;
+            }
+            ShiftedHashCode other = (ShiftedHashCode)obj;
+            return x == other.x && y == other.y && z == other.z;
+        }
+
+        @Override
+        public int hashCode() {
+            return (x + 31 * (y + 31 * z)) << 8;
+        }
+    }
+
+    static final class LowestBitHashCode {
+        private final int x;
+
+        public LowestBitHashCode(int x) { this.x = x; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof LowestBitHashCode && x == ((LowestBitHashCode)obj).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x & 1;
+        }
+    }
+
+    static final class ManyFields {
+        private final int a;
+        private final long b;
+        private final String c;
+        private final double d;
+        private final boolean e;
+        private final char f;
+        private final Integer g;
+        private final String h;
+        private final byte i;
+        private final short j;
+        private final float k;
+
+        // CHECKSTYLE: ignore ParameterNumber for 1 line.
+        public ManyFields(int a, long b, String c, double d, boolean e, char f, Integer g, String h, byte i, short j, float k) {
+            this.a = a; this.b = b; this.c = c; this.d = d; this.e = e; this.f = f;
+            this.g = g; this.h = h; this.i = i; this.j = j; this.k = k;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return defaultEquals(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 17;
+            result = 31 * result + a;
+            result = 31 * result + (int)(b ^ (b >>> 32));
+            result = 31 * result + (c == null ? 0 : c.hashCode());
+            long bits = Double.doubleToLongBits(d);
+            result = 31 * result + (int)(bits ^ (bits >>> 32));
+            result = 31 * result + (e ? 1 : 0);
+            result = 31 * result + f;
+            result = 31 * result + (g == null ? 0 : g.hashCode());
+            result = 31 * result + (h == null ? 0 : h.hashCode());
+            result = 31 * result + i;
+            result = 31 * result + j;
+            result = 31 * result + Float.floatToIntBits(k);
+            return result;
+        }
+    }
+}
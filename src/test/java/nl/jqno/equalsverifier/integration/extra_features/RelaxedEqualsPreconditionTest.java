@@ -21,6 +21,9 @@ import nl.jqno.equalsverifier.testhelpers.types.Multiple;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 public class RelaxedEqualsPreconditionTest extends IntegrationTestBase {
     private static final String PRECONDITION = "Precondition";
     private static final String DIFFERENT_CLASSES = "are of different classes";
@@ -66,6 +69,25 @@ public class RelaxedEqualsPreconditionTest extends IntegrationTestBase {
         EqualsVerifier.forRelaxedEqualExamples(red, black, another, null);
     }
 
+    @Test
+    public void fail_whenTheIterableHasOnlyOneExample() {
+        expectException(IllegalArgumentException.class, "Not enough examples: 1 given, 2 needed.");
+        EqualsVerifier.forRelaxedEqualExamples(Collections.singletonList(red));
+    }
+
+    @Test
+    public void fail_whenTheIterableContainsNull() {
+        expectException(IllegalArgumentException.class, "One of the examples is null.");
+        EqualsVerifier.forRelaxedEqualExamples(Arrays.asList(red, black, null));
+    }
+
+    @Test
+    public void fail_whenTheUnequalIterableIsEmpty() {
+        expectException(IllegalArgumentException.class, "Not enough examples: 0 given, 1 needed.");
+        EqualsVerifier.forRelaxedEqualExamples(red, black)
+                .andUnequalExamples(Collections.<Multiple>emptyList());
+    }
+
     @Test
     public void fail_whenTheUnequalExampleIsNull() {
         expectException(IllegalArgumentException.class, "First example is null.");
@@ -114,6 +136,15 @@ public class RelaxedEqualsPreconditionTest extends IntegrationTestBase {
                 .verify();
     }
 
+    @Test
+    public void fail_whenTwoExamplesThatAreNotAdjacentAreIdentical() {
+        expectFailure(PRECONDITION, TWO_IDENTICAL_OBJECTS_APPEAR, Multiple.class.getSimpleName());
+        Multiple aa = new Multiple(1, 2);
+        EqualsVerifier.forRelaxedEqualExamples(red, black, aa)
+                .andUnequalExample(green)
+                .verify();
+    }
+
     @Test
     public void fail_whenAnEqualExampleIsAlsoGivenAsAnUnequalExample() {
         expectException(IllegalArgumentException.class, EQUAL_IS_UNEQUAL);
@@ -136,6 +167,30 @@ public class RelaxedEqualsPreconditionTest extends IntegrationTestBase {
                 .andUnequalExamples(green, xx);
     }
 
+    @Test
+    public void fail_whenEqualExamplesAreOnlyEqualToTheFirstExample() {
+        expectFailure(PRECONDITION, "not all equal objects are equal");
+        EqualsVerifier.forRelaxedEqualExamples(new Near(1), new Near(0), new Near(2))
+                .andUnequalExample(new Near(10))
+                .verify();
+    }
+
+    public static final class Near {
+        private final int x;
+
+        public Near(int x) { this.x = x; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Near && Math.abs(x - ((Near)obj).x) <= 1;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
     public static class SubMultiple extends Multiple {
         public SubMultiple(int a, int b) {
             super(a, b);
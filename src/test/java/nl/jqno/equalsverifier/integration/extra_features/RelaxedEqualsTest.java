@@ -21,6 +21,10 @@ import nl.jqno.equalsverifier.testhelpers.types.Multiple;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class RelaxedEqualsTest extends IntegrationTestBase {
     private Multiple a;
     private Multiple b;
@@ -47,6 +51,31 @@ public class RelaxedEqualsTest extends IntegrationTestBase {
                 .verify();
     }
 
+    @Test
+    public void succeed_whenManyObjectsWithDifferentFieldsAreEqual_givenTheyAreGivenAsAnIterable() {
+        int product = 2 * 2 * 3 * 3 * 5 * 7;
+        List<Multiple> equal = new ArrayList<>();
+        List<Multiple> unequal = new ArrayList<>();
+        for (int i = 1; i <= product; i++) {
+            if (product % i == 0) {
+                equal.add(new Multiple(i, product / i));
+                unequal.add(new Multiple(i, product / i + 1));
+            }
+        }
+
+        EqualsVerifier.forRelaxedEqualExamples(equal)
+                .andUnequalExamples(unequal)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenAnExampleInTheIterableIsNotEqual() {
+        expectFailure("Precondition", "not all equal objects are equal");
+        EqualsVerifier.forRelaxedEqualExamples(Arrays.asList(a, b, new Multiple(3, 1)))
+                .andUnequalExamples(Arrays.asList(x))
+                .verify();
+    }
+
     @Test
     public void fail_whenTheSameObjectIsGivenAsAnUnequalExample() {
         expectException(IllegalArgumentException.class, "An equal example also appears as unequal example.");
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import nl.jqno.equalsverifier.testhelpers.ConditionalCompiler;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ResultCacheTest extends IntegrationTestBase {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void succeed_whenClassIsCorrect_givenResultCache() throws IOException {
+        File cache = new File(folder.getRoot(), "cache");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withResultCache(cache)
+                .verify();
+
+        assertEquals(1, lines(cache).size());
+    }
+
+    @Test
+    public void succeed_whenClassBecomesBroken_givenItPassedBefore() {
+        File cache = new File(folder.getRoot(), "cache");
+        try {
+            Toggle.broken = false;
+            EqualsVerifier.forClass(Toggle.class)
+                    .withResultCache(cache)
+                    .verify();
+
+            Toggle.broken = true;
+            EqualsVerifier.forClass(Toggle.class)
+                    .withResultCache(cache)
+                    .verify();
+        }
+        finally {
+            Toggle.broken = false;
+        }
+    }
+
+    @Test
+    public void succeed_whenVerifyingTheSameClassTwice_givenResultCache() throws IOException {
+        File cache = new File(folder.getRoot(), "cache");
+        for (int i = 0; i < 2; i++) {
+            EqualsVerifier.forClass(FinalPoint.class)
+                    .withResultCache(cache)
+                    .verify();
+        }
+
+        assertEquals(1, lines(cache).size());
+    }
+
+    @Test
+    public void succeed_whenConfigurationDiffers_givenResultCache() throws IOException {
+        File cache = new File(folder.getRoot(), "cache");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withResultCache(cache)
+                .verify();
+        EqualsVerifier.forClass(FinalPoint.class)
+                .suppress(Warning.NONFINAL_FIELDS)
+                .withResultCache(cache)
+                .verify();
+
+        assertEquals(2, lines(cache).size());
+    }
+
+    @Test
+    public void succeed_whenGenericElementTypeChanges_givenResultCache() throws IOException {
+        File cache = new File(folder.getRoot(), "cache");
+        try (ConditionalCompiler before = new ConditionalCompiler(folder.newFolder("before"));
+             ConditionalCompiler after = new ConditionalCompiler(folder.newFolder("after"))) {
+            EqualsVerifier.forClass(before.compile(HOLDER_CLASS_NAME, holderCode("int")))
+                    .withResultCache(cache)
+                    .verify();
+            EqualsVerifier.forClass(after.compile(HOLDER_CLASS_NAME, holderCode("long")))
+                    .withResultCache(cache)
+                    .verify();
+        }
+
+        assertEquals(2, lines(cache).size());
+    }
+
+    @Test
+    public void succeed_whenPrefabValuesAreGiven_givenResultCache() throws IOException {
+        File cache = new File(folder.getRoot(), "cache");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withPrefabValues(FinalPoint.class, new FinalPoint(1, 2), new FinalPoint(2, 3))
+                .withResultCache(cache)
+                .verify();
+
+        assertEquals(0, lines(cache).size());
+    }
+
+    @Test
+    public void fail_whenClassIsBroken_givenResultCache() {
+        File cache = new File(folder.getRoot(), "cache");
+        try {
+            Toggle.broken = true;
+            EqualsVerifier.forClass(Toggle.class)
+                    .withResultCache(cache)
+                    .verify();
+        }
+        catch (AssertionError expected) {
+            assertFalse(cache.exists());
+            return;
+        }
+        finally {
+            Toggle.broken = false;
+        }
+        throw new AssertionError("Verification should have failed.");
+    }
+
+    @Test
+    public void throw_whenFileIsNull() {
+        expectException(NullPointerException.class, "File is null.");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withResultCache(null);
+    }
+
+    private static final String HOLDER_CLASS_NAME = "Holder";
+
+    private static String holderCode(String elementFieldType) {
+        // Only the element type changes: Holder's own bytecode stays the same.
+        return "import java.util.List;\n" +
+                "import java.util.Objects;\n" +
+                "\n" +
+                "public final class Holder {\n" +
+                "    private final List<Element> elements;\n" +
+                "\n" +
+                "    public Holder(List<Element> elements) { this.elements = elements; }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public boolean equals(Object obj) {\n" +
+                "        return obj instanceof Holder && Objects.equals(elements, ((Holder)obj).elements);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public int hashCode() { return Objects.hashCode(elements); }\n" +
+                "}\n" +
+                "\n" +
+                "final class Element {\n" +
+                "    private final " + elementFieldType + " x;\n" +
+                "\n" +
+                "    Element(" + elementFieldType + " x) { this.x = x; }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public boolean equals(Object obj) {\n" +
+                "        return obj instanceof Element && x == ((Element)obj).x;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public int hashCode() { return (int)x; }\n" +
+                "}\n";
+    }
+
+    private List<String> lines(File file) throws IOException {
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+        return Files.readAllLines(file.toPath(), StandardCharsets.US_ASCII);
+    }
+
+    static final class Toggle {
+        private static boolean broken = false;
+
+        private final int x;
+
+        public Toggle(int x) { this.x = x; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Toggle)) {
+                return false;
+            }
+            return broken || x == ((Toggle)obj).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return broken ? 0 : x;
+        }
+    }
+}
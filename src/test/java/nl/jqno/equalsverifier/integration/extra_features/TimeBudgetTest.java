@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeBudgetTest extends IntegrationTestBase {
+    @Test
+    public void succeed_whenClassIsCorrect_givenTimeBudget() {
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withTimeBudget(1, TimeUnit.MINUTES)
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenBrokenFieldIsNotSelected_givenExhaustedTimeBudget() {
+        EqualsVerifier.forClass(IgnoresSecondField.class)
+                .withTimeBudget(1, TimeUnit.NANOSECONDS, 0)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenBrokenFieldIsSelected_givenExhaustedTimeBudget() {
+        expectFailure("Significant fields", "checked 1 of 2 fields [b]", "starting from seed 3");
+        EqualsVerifier.forClass(IgnoresSecondField.class)
+                .withTimeBudget(1, TimeUnit.NANOSECONDS, 3)
+                .verify();
+    }
+
+    @Test
+    public void describeCheckedFields_whenVerificationPasses_givenReport() {
+        StringBuilder report = new StringBuilder();
+        EqualsVerifier.forClass(IgnoresSecondField.class)
+                .withTimeBudget(1, TimeUnit.NANOSECONDS, 0, report)
+                .verify();
+        String description = report.toString();
+        assertTrue(description, description.contains("checked 1 of 2 fields [a], starting from seed 0"));
+        assertTrue(description, description.contains("or with seed 1 to continue"));
+    }
+
+    @Test
+    public void fail_whenBrokenFieldIsChecked_givenNextSeedFromReport() {
+        StringBuilder report = new StringBuilder();
+        EqualsVerifier.forClass(IgnoresSecondField.class)
+                .withTimeBudget(1, TimeUnit.NANOSECONDS, 40, report)
+                .verify();
+        Matcher matcher = Pattern.compile("or with seed (\\d+)").matcher(report);
+        assertTrue(report.toString(), matcher.find());
+        long next = Long.parseLong(matcher.group(1));
+
+        expectFailure("Significant fields", "checked 1 of 2 fields [b]", "starting from seed 41");
+        EqualsVerifier.forClass(IgnoresSecondField.class)
+                .withTimeBudget(1, TimeUnit.NANOSECONDS, next)
+                .verify();
+    }
+
+    @Test
+    public void fail_whenBrokenFieldIsChecked_givenRotationOverConsecutiveVerifications() {
+        int failures = 0;
+        for (int i = 0; i < 2; i++) {
+            try {
+                EqualsVerifier.forClass(RotatedIgnoresSecondField.class)
+                        .withTimeBudget(1, TimeUnit.NANOSECONDS)
+                        .verify();
+            }
+            catch (AssertionError e) {
+                failures++;
+            }
+        }
+        assertEquals(1, failures);
+    }
+
+    @Test
+    public void throw_whenTimeBudgetIsNotPositive() {
+        expectException(IllegalArgumentException.class, "Time budget must be positive.");
+        EqualsVerifier.forClass(FinalPoint.class)
+                .withTimeBudget(0, TimeUnit.SECONDS);
+    }
+
+    static final class IgnoresSecondField {
+        private final int a;
+        private final int b;
+
+        public IgnoresSecondField(int a, int b) { this.a = a; this.b = b; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof IgnoresSecondField)) {
+                return false;
+            }
+            return a == ((IgnoresSecondField)obj).a;
+        }
+
+        @Override
+        public int hashCode() {
+            return a;
+        }
+    }
+
+    static final class RotatedIgnoresSecondField {
+        private final int a;
+        private final int b;
+
+        public RotatedIgnoresSecondField(int a, int b) { this.a = a; this.b = b; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RotatedIgnoresSecondField)) {
+                return false;
+            }
+            return a == ((RotatedIgnoresSecondField)obj).a;
+        }
+
+        @Override
+        public int hashCode() {
+            return a;
+        }
+    }
+}
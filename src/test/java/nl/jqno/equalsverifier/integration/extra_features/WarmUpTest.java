@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.integration.extra_features;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.testhelpers.IntegrationTestBase;
+import nl.jqno.equalsverifier.testhelpers.types.FinalPoint;
+import nl.jqno.equalsverifier.testhelpers.types.Point;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WarmUpTest extends IntegrationTestBase {
+    @Test
+    public void succeed_whenWarmingUpWithoutTypes() throws Exception {
+        Future<?> warmUp = EqualsVerifier.warmUp();
+        warmUp.get(30, TimeUnit.SECONDS);
+        assertTrue(warmUp.isDone());
+    }
+
+    @Test
+    public void succeed_whenVerifyingAfterWarmUp_givenTypesToWarmUp() throws Exception {
+        EqualsVerifier.warmUp(FinalPoint.class, Point.class).get(30, TimeUnit.SECONDS);
+        EqualsVerifier.forClass(FinalPoint.class)
+                .verify();
+    }
+
+    @Test
+    public void succeed_whenVerifyingDuringWarmUp() throws Exception {
+        Future<?> warmUp = EqualsVerifier.warmUp(FinalPoint.class);
+        EqualsVerifier.forClass(FinalPoint.class)
+                .verify();
+        warmUp.get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void failFuture_whenTypeCannotBeWarmedUp_givenOtherTypesAreStillWarmedUp() throws Exception {
+        Future<?> warmUp = EqualsVerifier.warmUp(ThrowsInStaticInitializer.class, FinalPoint.class);
+        try {
+            warmUp.get(30, TimeUnit.SECONDS);
+            fail("Warm-up should have failed.");
+        }
+        catch (ExecutionException e) {
+            assertThat(e.getCause().getMessage(), containsString("Could not warm up"));
+        }
+    }
+
+    @Test
+    public void throwException_whenTypeIsNull() {
+        expectException(NullPointerException.class, "Type is null.");
+        EqualsVerifier.warmUp(FinalPoint.class, null);
+    }
+
+    static final class ThrowsInStaticInitializer {
+        static {
+            throwIllegalState();
+        }
+
+        private static void throwIllegalState() {
+            throw new IllegalStateException("Should not be initialized");
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class OriginalStateTest extends IntegrationTestBase {
     private static final String INSTANCE_2 = "instance 2";
     private static final String STATIC = "static";
     private static final String STATIC_FINAL = "static final";
+    private static final double STATIC_DOUBLE = 1.0;
 
     @Test
     public void staticValueReturnsToOriginalState_whenEqualsVerifierIsFinished() {
@@ -81,6 +82,30 @@ public class OriginalStateTest extends IntegrationTestBase {
         ev.verify();
     }
 
+    @Test
+    public void staticValueReturnsToOriginalState_whenVerificationFailsWhileStaticIsNull() {
+        try {
+            EqualsVerifier.forClass(EqualsThrowsNpeOnStatic.class).verify();
+        }
+        catch (AssertionError expected) {
+            assertEquals(STATIC, EqualsThrowsNpeOnStatic.staticValue);
+            return;
+        }
+        throw new AssertionError("Verification should have failed.");
+    }
+
+    @Test
+    public void primitiveStaticValueReturnsToOriginalState_whenVerificationFailsWhileStaticIsNaN() {
+        try {
+            EqualsVerifier.forClass(EqualsFailsOnStaticNaN.class).verify();
+        }
+        catch (AssertionError expected) {
+            assertEquals(STATIC_DOUBLE, EqualsFailsOnStaticNaN.staticValue, 0.0);
+            return;
+        }
+        throw new AssertionError("Verification should have failed.");
+    }
+
     static final class CorrectEquals {
         private static final String STATIC_FINAL_VALUE = STATIC_FINAL;
         private static String staticValue = STATIC;
@@ -92,6 +117,34 @@ public class OriginalStateTest extends IntegrationTestBase {
         @Override public int hashCode() { return defaultHashCode(this); }
     }
 
+    static final class EqualsThrowsNpeOnStatic {
+        private static String staticValue = STATIC;
+        private final String instanceValue;
+
+        public EqualsThrowsNpeOnStatic(String instanceValue) { this.instanceValue = instanceValue; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return staticValue.length() > 0 && defaultEquals(this, obj);
+        }
+
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
+
+    static final class EqualsFailsOnStaticNaN {
+        private static double staticValue = STATIC_DOUBLE;
+        private final String instanceValue;
+
+        public EqualsFailsOnStaticNaN(String instanceValue) { this.instanceValue = instanceValue; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return !Double.isNaN(staticValue) && defaultEquals(this, obj);
+        }
+
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
+
     static final class CorrectEqualsContainer {
         private final CorrectEquals foo;
 
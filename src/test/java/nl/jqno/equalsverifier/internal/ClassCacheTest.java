@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ClassCacheTest {
+    @Test
+    public void computeValueOncePerClass() {
+        CountingCache cache = new CountingCache(10);
+
+        assertEquals(String.class.getName(), cache.get(String.class));
+        assertEquals(String.class.getName(), cache.get(String.class));
+        assertEquals(Integer.class.getName(), cache.get(Integer.class));
+
+        assertEquals(2, cache.computations.get());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedClass_whenSegmentIsFull() {
+        CountingCache cache = new CountingCache(2);
+        cache.get(String.class);
+        cache.get(Integer.class);
+        cache.get(String.class);
+        cache.get(Long.class);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+
+        cache.get(String.class);
+        assertEquals(3, cache.computations.get());
+        cache.get(Integer.class);
+        assertEquals(4, cache.computations.get());
+    }
+
+    @Test
+    public void keepClassesFromDifferentClassLoadersInSeparateSegments() throws Exception {
+        CountingCache cache = new CountingCache(1);
+        Class<?> fixture = isolatedClassLoader().loadClass(Fixture.class.getName());
+
+        cache.get(Fixture.class);
+        cache.get(fixture);
+
+        assertNotSame(Fixture.class, fixture);
+        assertEquals(2, cache.segmentCount());
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    public void evictClassFromShortLivedClassLoader_whenSegmentIsFull() throws Exception {
+        CountingCache cache = new CountingCache(1);
+        ClassLoader classLoader = isolatedClassLoader();
+        Class<?> fixture = classLoader.loadClass(Fixture.class.getName());
+        Class<?> other = classLoader.loadClass(Other.class.getName());
+
+        cache.get(fixture);
+        cache.get(other);
+        cache.get(fixture);
+
+        assertEquals(3, cache.computations.get());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void doNotKeepShortLivedClassLoaderAlive() throws Exception {
+        CountingCache cache = new CountingCache(10);
+        WeakReference<ClassLoader> reference = cacheClassFromIsolatedClassLoader(cache);
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+        assertEquals(0, cache.segmentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectNonPositiveSize() {
+        new CountingCache(0);
+    }
+
+    private WeakReference<ClassLoader> cacheClassFromIsolatedClassLoader(CountingCache cache) throws Exception {
+        ClassLoader classLoader = isolatedClassLoader();
+        cache.get(classLoader.loadClass(Fixture.class.getName()));
+        assertEquals(1, cache.segmentCount());
+        return new WeakReference<>(classLoader);
+    }
+
+    private ClassLoader isolatedClassLoader() {
+        URL testClasses = ClassCacheTest.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[] { testClasses }, null);
+    }
+
+    private static final class CountingCache extends ClassCache<String> {
+        private final AtomicInteger computations = new AtomicInteger();
+
+        private CountingCache(int maxEntriesPerClassLoader) {
+            super(maxEntriesPerClassLoader);
+        }
+
+        @Override
+        protected String computeValue(Class<?> type) {
+            computations.incrementAndGet();
+            return type.getName();
+        }
+    }
+
+    public static final class Fixture {}
+
+    public static final class Other {}
+}
@@ -266,6 +266,26 @@ public class FieldAccessorTest {
         assertEquals(0, foo._short);
     }
 
+    @Test
+    public void changePrimitiveFieldAlternatesBetweenRedAndBlack() {
+        AllTypesContainer foo = new AllTypesContainer();
+
+        for (Field field : FieldIterable.of(AllTypesContainer.class)) {
+            if (!field.getType().isPrimitive()) {
+                continue;
+            }
+            TypeTag tag = new TypeTag(field.getType());
+            FieldAccessor accessor = new FieldAccessor(foo, field);
+
+            accessor.changeField(prefabValues, TypeTag.NULL);
+            assertEquals("On field: " + field.getName(), prefabValues.giveRed(tag), accessor.get());
+            accessor.changeField(prefabValues, TypeTag.NULL);
+            assertEquals("On field: " + field.getName(), prefabValues.giveBlack(tag), accessor.get());
+            accessor.changeField(prefabValues, TypeTag.NULL);
+            assertEquals("On field: " + field.getName(), prefabValues.giveRed(tag), accessor.get());
+        }
+    }
+
     @SuppressWarnings("static-access")
     @Test
     public void defaultFieldOnPrimitiveStaticFinalIsNoOp() throws NoSuchFieldException {
@@ -384,6 +404,11 @@ public class FieldAccessorTest {
         assertTrue(reference.equals(changed));
 
         for (Field field : FieldIterable.of(AllArrayTypesContainer.class)) {
+            Object red = prefabValues.giveRed(TypeTag.of(field, TypeTag.NULL));
+            new FieldAccessor(reference, field).set(red);
+            new FieldAccessor(changed, field).set(red);
+            assertTrue("On field: " + field.getName(), reference.equals(changed));
+
             new FieldAccessor(changed, field).changeField(prefabValues, TypeTag.NULL);
             assertFalse("On field: " + field.getName(), reference.equals(changed));
             new FieldAccessor(reference, field).changeField(prefabValues, TypeTag.NULL);
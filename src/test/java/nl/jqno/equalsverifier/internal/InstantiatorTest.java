@@ -80,4 +80,27 @@ public class InstantiatorTest {
         Instantiator instantiator = Instantiator.of(List.class);
         instantiator.instantiateAnonymousSubclass();
     }
+
+    @Test
+    public void defineSubclassOfPublicClassInChildClassLoader() {
+        Point p = Instantiator.of(Point.class).instantiateAnonymousSubclass();
+        assertNotSame(Point.class.getClassLoader(), p.getClass().getClassLoader());
+        assertSame(Point.class.getClassLoader(), p.getClass().getClassLoader().getParent());
+    }
+
+    @Test
+    public void reuseSubclass() {
+        Instantiator<Point> instantiator = Instantiator.of(Point.class);
+        assertSame(instantiator.instantiateAnonymousSubclass().getClass(),
+                instantiator.instantiateAnonymousSubclass().getClass());
+    }
+
+    @Test
+    public void defineSubclassOfPackagePrivateClassInItsOwnClassLoader() {
+        PackagePrivate p = Instantiator.of(PackagePrivate.class).instantiateAnonymousSubclass();
+        assertNotSame(PackagePrivate.class, p.getClass());
+        assertSame(PackagePrivate.class.getClassLoader(), p.getClass().getClassLoader());
+    }
+
+    static class PackagePrivate {}
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import nl.jqno.equalsverifier.testhelpers.types.FinalMethodsPoint;
+import nl.jqno.equalsverifier.testhelpers.types.Point;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemberIndexTest {
+    @Test
+    public void indexIsCachedPerClass() {
+        assertSame(MemberIndex.of(Point.class), MemberIndex.of(Point.class));
+    }
+
+    @Test
+    public void declaredFields() {
+        MemberIndex index = MemberIndex.of(Point.class);
+        assertTrue(index.declaresField("x"));
+        assertFalse(index.declaresField("doesNotExist"));
+    }
+
+    @Test
+    public void declaredMethods() {
+        assertTrue(MemberIndex.of(Point.class).declaresEquals());
+        assertTrue(MemberIndex.of(Point.class).declaresHashCode());
+        assertFalse(MemberIndex.of(Empty.class).declaresEquals());
+        assertFalse(MemberIndex.of(Empty.class).declaresHashCode());
+    }
+
+    @Test
+    public void finalityIsInherited() {
+        assertTrue(MemberIndex.of(FinalMethodsPoint.class).isEqualsFinal());
+        assertTrue(MemberIndex.of(FinalMethodsPoint.class).isHashCodeFinal());
+        assertTrue(MemberIndex.of(SubOfFinalMethodsPoint.class).isEqualsFinal());
+        assertFalse(MemberIndex.of(Point.class).isEqualsFinal());
+    }
+
+    @Test
+    public void abstractness() {
+        assertTrue(MemberIndex.of(AbstractEquals.class).isEqualsAbstract());
+        assertTrue(MemberIndex.of(AbstractEquals.class).isHashCodeAbstract());
+        assertFalse(MemberIndex.of(Point.class).isEqualsAbstract());
+    }
+
+    @Test
+    public void equalsInheritedFromObject() {
+        assertTrue(MemberIndex.of(Object.class).isEqualsInheritedFromObject());
+        assertTrue(MemberIndex.of(Empty.class).isEqualsInheritedFromObject());
+        assertTrue(MemberIndex.of(AbstractEquals.class).isEqualsInheritedFromObject());
+        assertFalse(MemberIndex.of(Point.class).isEqualsInheritedFromObject());
+        assertFalse(MemberIndex.of(SubOfFinalMethodsPoint.class).isEqualsInheritedFromObject());
+    }
+
+    static class Empty {}
+
+    abstract static class AbstractEquals {
+        @Override
+        public abstract boolean equals(Object obj);
+
+        @Override
+        public abstract int hashCode();
+    }
+
+    static class SubOfFinalMethodsPoint extends FinalMethodsPoint {
+        public SubOfFinalMethodsPoint(int x, int y) {
+            super(x, y);
+        }
+    }
+}
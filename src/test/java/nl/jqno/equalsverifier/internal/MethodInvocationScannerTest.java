@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MethodInvocationScannerTest {
+    private static final String OBJECTS_HASH_DESCRIPTOR = "([Ljava/lang/Object;)I";
+
+    @Test
+    public void findInvocation() {
+        MethodInvocationScanner scanner = new MethodInvocationScanner(UsesObjectsHash.class);
+        assertTrue(scanner.invokes("hashCode", "()I", Objects.class, "hash", OBJECTS_HASH_DESCRIPTOR));
+    }
+
+    @Test
+    public void dontFindInvocationInOtherMethod() {
+        MethodInvocationScanner scanner = new MethodInvocationScanner(UsesObjectsHash.class);
+        assertFalse(scanner.invokes("toString", "()Ljava/lang/String;", Objects.class, "hash", OBJECTS_HASH_DESCRIPTOR));
+    }
+
+    @Test
+    public void dontFindAbsentInvocation() {
+        MethodInvocationScanner scanner = new MethodInvocationScanner(UsesObjectsHash.class);
+        assertFalse(scanner.invokes("hashCode", "()I", Objects.class, "hashCode", "(Ljava/lang/Object;)I"));
+    }
+
+    @Test
+    public void dontFindUndeclaredMethod() {
+        MethodInvocationScanner scanner = new MethodInvocationScanner(Object.class);
+        assertFalse(scanner.invokes("hashCode", "()I", Objects.class, "hash", OBJECTS_HASH_DESCRIPTOR));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class UsesObjectsHash {
+        private final int x = 1;
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x);
+        }
+
+        @Override
+        public String toString() {
+            return "x=" + x;
+        }
+    }
+}
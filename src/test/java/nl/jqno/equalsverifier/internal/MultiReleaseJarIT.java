@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the packaged jar. Runs on Java 9 and later, after jarjar has
+ * relocated the libraries and the classes from {@code src/main/java9} have
+ * been added.
+ */
+public class MultiReleaseJarIT {
+    private static final String VERSIONS = "META-INF/versions/9/";
+    private static final String CLASS_INJECTOR = "nl/jqno/equalsverifier/internal/ClassInjector.class";
+
+    @Test
+    public void jarIsMultiRelease() throws IOException {
+        try (JarFile jar = packagedJar()) {
+            assertEquals("true", jar.getManifest().getMainAttributes().getValue("Multi-Release"));
+            assertNotNull(jar.getEntry(CLASS_INJECTOR));
+            assertNotNull(jar.getEntry(VERSIONS + CLASS_INJECTOR));
+        }
+    }
+
+    @Test
+    public void librariesAreRelocated() throws IOException {
+        try (JarFile jar = packagedJar()) {
+            assertNotNull(jar.getEntry("nl/jqno/equalsverifier/internal/lib/bytebuddy/ByteBuddy.class"));
+            assertNull(jar.getEntry("net/bytebuddy/ByteBuddy.class"));
+
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    String classFile = read(jar, entry);
+                    assertFalse(entry.getName(), classFile.contains("net/bytebuddy/"));
+                    assertFalse(entry.getName(), classFile.contains("org/objectweb/asm/"));
+                    assertFalse(entry.getName(), classFile.contains("org/objenesis/"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void versionedClassInjectorIsUsed() {
+        assertTrue(ClassInjector.class.getProtectionDomain().getCodeSource().getLocation().getPath().endsWith(".jar"));
+
+        byte[] bytes = new ByteBuddy(ClassFileVersion.JAVA_V7)
+                .subclass(Object.class)
+                .name(new NamingStrategy.Fixed(MultiReleaseJarIT.class.getName() + "$Defined"))
+                .make()
+                .getBytes();
+        Class<?> defined = ClassInjector.defineInPackageOf(MultiReleaseJarIT.class, bytes);
+
+        assertNotNull(defined);
+        assertSame(MultiReleaseJarIT.class.getClassLoader(), defined.getClassLoader());
+    }
+
+    @Test
+    public void subclassOfPackagePrivateTypeIsDefinedInItsClassLoader() {
+        PackagePrivate instance = Instantiator.of(PackagePrivate.class).instantiateAnonymousSubclass();
+
+        assertSame(PackagePrivate.class.getClassLoader(), instance.getClass().getClassLoader());
+    }
+
+    private JarFile packagedJar() throws IOException {
+        String path = System.getProperty("equalsverifier.jar");
+        assertNotNull("Property equalsverifier.jar is not set.", path);
+        return new JarFile(path);
+    }
+
+    private String read(JarFile jar, JarEntry entry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = jar.getInputStream(entry)) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    static class PackagePrivate {}
+}
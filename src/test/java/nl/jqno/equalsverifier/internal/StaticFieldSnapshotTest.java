@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class StaticFieldSnapshotTest {
+    @Test
+    public void restoreOriginalValue() throws Exception {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.lockAndTake(fields());
+        Holder.value = null;
+        snapshot.restoreAndUnlock();
+
+        assertEquals("original", Holder.value);
+    }
+
+    @Test
+    public void blockOtherSnapshotOfSameClassUntilRestored() throws Exception {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.lockAndTake(fields());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> other = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    StaticFieldSnapshot.lockAndTake(fields()).restoreAndUnlock();
+                    return null;
+                }
+            });
+
+            try {
+                other.get(100, TimeUnit.MILLISECONDS);
+                fail("Second snapshot should have been blocked.");
+            }
+            catch (TimeoutException expected) {
+                // The other thread is waiting for the lock.
+            }
+
+            snapshot.restoreAndUnlock();
+            other.get(10, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectInstanceField() throws Exception {
+        StaticFieldSnapshot.lockAndTake(Collections.singletonList(Holder.class.getDeclaredField("instanceValue")));
+    }
+
+    private static List<Field> fields() throws NoSuchFieldException {
+        return Collections.singletonList(Holder.class.getDeclaredField("value"));
+    }
+
+    @SuppressWarnings("unused")
+    static final class Holder {
+        private static String value = "original";
+        private String instanceValue;
+    }
+}
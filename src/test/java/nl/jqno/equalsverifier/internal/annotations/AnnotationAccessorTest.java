@@ -159,6 +159,15 @@ public class AnnotationAccessorTest {
         accessor.typeHas(TYPE_CLASS_RETENTION);
     }
 
+    @Test
+    public void dynamicClassDoesNotNeedClassFileForRuntimeAnnotationWithCanonicalDescriptor() {
+        Class<?> type = Instantiator.of(Point.class).instantiateAnonymousSubclass().getClass();
+        AnnotationAccessor accessor = new AnnotationAccessor(TestSupportedAnnotations.values(), type, false);
+
+        assertFalse(accessor.typeHas(TYPE_RUNTIME_RETENTION_CANONICAL_DESCRIPTOR));
+        assertFalse(accessor.fieldHas("x", FIELD_RUNTIME_RETENTION_CANONICAL_DESCRIPTOR));
+    }
+
     @Test
     public void dynamicClassWithSuppressedWarning() {
         Class<?> type = Instantiator.of(Point.class).instantiateAnonymousSubclass().getClass();
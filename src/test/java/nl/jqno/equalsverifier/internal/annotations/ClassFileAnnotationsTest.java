@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.annotations;
+
+import nl.jqno.equalsverifier.testhelpers.types.TypeHelper.AnnotatedFields;
+import nl.jqno.equalsverifier.testhelpers.types.TypeHelper.AnnotatedWithBoth;
+import nl.jqno.equalsverifier.testhelpers.types.TypeHelper.SuperclassWithAnnotations;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClassFileAnnotationsTest {
+    @Test
+    public void classFileIsParsedOnlyOnce() {
+        assertSame(ClassFileAnnotations.of(AnnotatedWithBoth.class), ClassFileAnnotations.of(AnnotatedWithBoth.class));
+    }
+
+    @Test
+    public void typeAnnotationsAreFound() {
+        ClassFileAnnotations classFile = ClassFileAnnotations.of(AnnotatedWithBoth.class);
+        assertTrue(classFile.isReadable());
+        assertEquals(2, classFile.getTypeAnnotations().size());
+    }
+
+    @Test
+    public void fieldsAreFoundInDeclarationOrder() {
+        ClassFileAnnotations classFile = ClassFileAnnotations.of(AnnotatedFields.class);
+        List<String> expected = Arrays.asList("runtimeRetention", "classRetention", "bothRetentions", "noRetention");
+        assertEquals(expected, new ArrayList<>(classFile.getFieldAnnotations().keySet()));
+        assertEquals(2, classFile.getFieldAnnotations().get("bothRetentions").size());
+        assertTrue(classFile.getFieldAnnotations().get("noRetention").isEmpty());
+    }
+
+    @Test
+    public void superclassIsParsedIndependentlyOfSubclass() {
+        ClassFileAnnotations superclass = ClassFileAnnotations.of(SuperclassWithAnnotations.class);
+        assertEquals(2, superclass.getFieldAnnotations().size());
+    }
+}
@@ -17,6 +17,7 @@ package nl.jqno.equalsverifier.internal.prefabvalues;
 
 import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.factories.PrefabValueFactory;
+import nl.jqno.equalsverifier.internal.prefabvalues.factories.SequenceFactory;
 import nl.jqno.equalsverifier.testhelpers.types.Point;
 import org.junit.Before;
 import org.junit.Rule;
@@ -24,6 +25,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 
@@ -76,6 +78,22 @@ public class PrefabValuesTest {
         assertEquals("b", pv.giveBlack(STRING_TAG));
     }
 
+    @Test
+    public void copyFactoriesWithoutValues() {
+        pv.giveRed(STRING_TAG);
+        PrefabValues copy = pv.copyFactories();
+        assertEquals("rr", copy.giveRed(STRING_TAG));
+        assertEquals("r", pv.giveRed(STRING_TAG));
+    }
+
+    @Test
+    public void addFactoryToCopyWithoutChangingOriginal() {
+        PrefabValues copy = pv.copyFactories();
+        copy.addFactory(int.class, 1, 2);
+        assertEquals(1, (int)copy.giveRed(INT_TAG));
+        assertEquals(42, (int)pv.giveRed(INT_TAG));
+    }
+
     @Test
     public void giveRedFromFallbackFactory() {
         Point actual = pv.giveRed(POINT_TAG);
@@ -100,14 +118,35 @@ public class PrefabValuesTest {
     public void giveOtherWhenValueIsCloneOfKnown() {
         Point red = new Point(42, 42);
         Point black = new Point(1337, 1337);
-        assertEquals(black, pv.giveOther(POINT_TAG, red));
-        assertEquals(red, pv.giveOther(POINT_TAG, black));
+        assertSame(pv.giveRed(POINT_TAG), pv.giveOther(POINT_TAG, red));
+        assertSame(pv.giveRed(POINT_TAG), pv.giveOther(POINT_TAG, black));
 
         // Sanity check
         assertEquals(red, pv.giveRed(POINT_TAG));
         assertEquals(black, pv.giveBlack(POINT_TAG));
     }
 
+    @Test
+    public void giveOtherDoesNotCallEquals() {
+        TypeTag tag = new TypeTag(ThrowingEquals.class);
+        pv.addFactory(ThrowingEquals.class, new ThrowingEquals(), new ThrowingEquals());
+        ThrowingEquals red = pv.giveRed(tag);
+        ThrowingEquals black = pv.giveBlack(tag);
+
+        assertSame(black, pv.giveOther(tag, red));
+        assertSame(red, pv.giveOther(tag, black));
+    }
+
+    @Test
+    public void giveOtherWhenValueIsEqualWrapper() {
+        // Outside the Integer cache, so boxing them again gives new instances.
+        pv.addFactory(int.class, 1000, 1001);
+        int red = pv.giveRed(INT_TAG);
+        int black = pv.giveBlack(INT_TAG);
+        assertEquals(black, (int)pv.giveOther(INT_TAG, Integer.valueOf(red)));
+        assertEquals(red, (int)pv.giveOther(INT_TAG, Integer.valueOf(black)));
+    }
+
     @Test
     public void giveOtherWhenValueIsUnknown() {
         Point value = new Point(-1, -1);
@@ -135,12 +174,35 @@ public class PrefabValuesTest {
         assertArrayEquals(red, pv.giveOther(STRING_ARRAY_TAG, black));
     }
 
+    @Test
+    public void givePrimitiveLaneHasRedAndBlackBits() {
+        PrimitiveLane lane = pv.givePrimitiveLane(int.class);
+        assertEquals((long)(int)pv.<Integer>giveRed(INT_TAG), lane.getRed());
+        assertEquals((long)(int)pv.<Integer>giveBlack(INT_TAG), lane.getBlack());
+        assertEquals(lane.getBlack(), lane.giveOther(lane.getRed()));
+        assertEquals(lane.getRed(), lane.giveOther(lane.getBlack()));
+        assertEquals(lane.getRed(), lane.giveOther(-10));
+    }
+
+    @Test
+    public void givePrimitiveLaneIsCached() {
+        assertSame(pv.givePrimitiveLane(int.class), pv.givePrimitiveLane(int.class));
+    }
+
+    @Test
+    public void givePrimitiveLaneConvertsFloatingPointToBits() {
+        pv.addFactory(double.class, 0.5, 1.5);
+        PrimitiveLane lane = pv.givePrimitiveLane(double.class);
+        assertEquals(Double.doubleToLongBits(0.5), lane.getRed());
+        assertEquals(Double.doubleToLongBits(1.5), lane.getBlack());
+    }
+
     @Test
     public void giveOtherWhenValueIsCloneOfKnownArray() {
         String[] red = { "r" };
         String[] black = { "b" };
-        assertArrayEquals(black, pv.giveOther(STRING_ARRAY_TAG, red));
-        assertArrayEquals(red, pv.giveOther(STRING_ARRAY_TAG, black));
+        assertSame(pv.giveRed(STRING_ARRAY_TAG), pv.giveOther(STRING_ARRAY_TAG, red));
+        assertSame(pv.giveRed(STRING_ARRAY_TAG), pv.giveOther(STRING_ARRAY_TAG, black));
 
         // Sanity check
         assertArrayEquals(red, pv.<String[]>giveRed(STRING_ARRAY_TAG));
@@ -191,6 +253,49 @@ public class PrefabValuesTest {
         assertEquals(-2, pv.giveBlack(INT_TAG));
     }
 
+    @Test
+    public void giveValuesFromFactoryGivesRedAndBlack() {
+        Iterator<Integer> values = pv.giveValues(INT_TAG);
+        assertEquals(42, (int)values.next());
+        assertEquals(1337, (int)values.next());
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    public void giveValuesFromStreamFactory() {
+        pv.addStreamFactory(long.class, new LongSequenceFactory());
+        Iterator<Long> values = pv.giveValues(new TypeTag(long.class));
+        for (long i = 0; i < 10; i++) {
+            assertEquals(i, (long)values.next());
+        }
+        assertTrue(values.hasNext());
+    }
+
+    @Test
+    public void giveValuesFromFallbackFactory() {
+        Iterator<Point> values = pv.giveValues(POINT_TAG);
+        assertEquals(new Point(42, 42), values.next());
+        assertEquals(new Point(1337, 1337), values.next());
+        assertFalse(values.hasNext());
+    }
+
+    @Test
+    public void giveValuesGivesANewStreamEachTime() {
+        pv.addStreamFactory(long.class, new LongSequenceFactory());
+        pv.giveValues(new TypeTag(long.class)).next();
+        assertEquals(0L, (long)pv.<Long>giveValues(new TypeTag(long.class)).next());
+    }
+
+    @Test
+    public void addingAFactoryOverrulesAStreamFactory() {
+        pv.addStreamFactory(long.class, new LongSequenceFactory());
+        pv.addFactory(long.class, -1L, -2L);
+        Iterator<Long> values = pv.giveValues(new TypeTag(long.class));
+        assertEquals(-1L, (long)values.next());
+        assertEquals(-2L, (long)values.next());
+        assertFalse(values.hasNext());
+    }
+
     private static class AppendingStringTestFactory implements PrefabValueFactory<String> {
         private String red;
         private String black;
@@ -221,9 +326,28 @@ public class PrefabValuesTest {
         }
     }
 
+    private static class LongSequenceFactory extends SequenceFactory<Long> {
+        @Override
+        protected Long valueAt(int index) {
+            return (long)index;
+        }
+    }
+
     private static class StaticContainer {
         static int staticInt = 2;
         @SuppressWarnings("unused")
         int regularInt = 3;
     }
+
+    private static class ThrowingEquals {
+        @Override
+        public boolean equals(Object obj) {
+            throw new IllegalStateException("equals should not be called");
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package nl.jqno.equalsverifier.internal.prefabvalues.factories;
 
 import nl.jqno.equalsverifier.JavaApiPrefabValues;
+import nl.jqno.equalsverifier.internal.exceptions.ReflectionException;
 import nl.jqno.equalsverifier.internal.prefabvalues.PrefabValues;
 import nl.jqno.equalsverifier.internal.prefabvalues.Tuple;
 import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
@@ -24,8 +25,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 @SuppressWarnings("rawtypes")
 public class CollectionFactoryTest {
@@ -84,6 +87,45 @@ public class CollectionFactoryTest {
         assertEquals(listOf(blackObject), tuple.getBlack());
     }
 
+    @Test
+    public void createStreamOfListsOfString() {
+        Iterator<List> stream = LIST_FACTORY.createStream(STRINGLIST_TYPETAG, prefabValues, typeStack);
+        List<List> lists = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lists.add(stream.next());
+        }
+        assertEquals(3, new HashSet<>(lists).size());
+        assertEquals(1, lists.get(0).size());
+    }
+
+    @Test
+    public void createFiniteStreamOfListsOfBoolean() {
+        Iterator<List> stream = LIST_FACTORY.createStream(new TypeTag(List.class, new TypeTag(Boolean.class)), prefabValues, typeStack);
+        assertEquals(listOf(true), stream.next());
+        assertEquals(listOf(false), stream.next());
+        assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void createCollectionsThroughConstructor() {
+        CollectionFactory<ArrayBlockingQueue> factory = CollectionFactory.constructing(ArrayBlockingQueue.class,
+                new Class<?>[] { int.class }, new Object[] { 1 });
+        Tuple<ArrayBlockingQueue> tuple = factory.createValues(new TypeTag(ArrayBlockingQueue.class, STRING_TYPETAG), prefabValues, typeStack);
+        assertEquals(red, tuple.getRed().peek());
+        assertEquals(0, tuple.getRed().remainingCapacity());
+        assertEquals(black, tuple.getBlack().peek());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectArgumentsThatDontMatchParameterTypes() {
+        CollectionFactory.constructing(ArrayList.class, new Class<?>[] { int.class }, new Object[] {});
+    }
+
+    @Test(expected = ReflectionException.class)
+    public void failWhenConstructorDoesNotExist() {
+        CollectionFactory.constructing(ArrayList.class, new Class<?>[] { String.class }, new Object[] { "" }).createEmpty();
+    }
+
     private static class StubListPrefabValueFactory extends CollectionFactory<List> {
         @Override
         public List createEmpty() {
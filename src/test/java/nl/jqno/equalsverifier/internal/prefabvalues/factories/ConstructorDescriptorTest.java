@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.internal.prefabvalues.factories;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@SuppressWarnings("rawtypes")
+public class ConstructorDescriptorTest {
+    @Test
+    public void shareConstructor_betweenDescriptorsOfTheSameConstructor() {
+        ConstructorDescriptor<ArrayList> first =
+                new ConstructorDescriptor<>(ArrayList.class, new Class<?>[] { int.class }, new Object[] { 1 });
+        ConstructorDescriptor<ArrayList> second =
+                new ConstructorDescriptor<>(ArrayList.class, new Class<?>[] { int.class }, new Object[] { 2 });
+        assertSame(first.constructor(), second.constructor());
+    }
+
+    @Test
+    public void dontShareConstructor_betweenDescriptorsOfDifferentConstructors() {
+        ConstructorDescriptor<ArrayList> withCapacity =
+                new ConstructorDescriptor<>(ArrayList.class, new Class<?>[] { int.class }, new Object[] { 1 });
+        ConstructorDescriptor<ArrayList> withoutArguments =
+                new ConstructorDescriptor<>(ArrayList.class, new Class<?>[] {}, new Object[] {});
+        assertNotSame(withCapacity.constructor(), withoutArguments.constructor());
+    }
+}
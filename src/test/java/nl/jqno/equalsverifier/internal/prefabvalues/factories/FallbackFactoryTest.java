@@ -31,7 +31,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import static nl.jqno.equalsverifier.testhelpers.Util.defaultEquals;
 import static nl.jqno.equalsverifier.testhelpers.Util.defaultHashCode;
@@ -39,6 +42,7 @@ import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class FallbackFactoryTest {
     @Rule
@@ -106,6 +110,56 @@ public class FallbackFactoryTest {
         factory.createValues(new TypeTag(NodeArray.class), prefabValues, typeStack);
     }
 
+    @Test
+    public void streamEmptyEnum() {
+        assertFalse(factory.createStream(new TypeTag(EmptyEnum.class), prefabValues, typeStack).hasNext());
+    }
+
+    @Test
+    public void streamMultiElementEnum() {
+        List<?> actual = drain(factory.createStream(new TypeTag(TwoElementEnum.class), prefabValues, typeStack));
+        assertEquals(2, actual.size());
+        assertEquals(TwoElementEnum.ONE, actual.get(0));
+        assertEquals(TwoElementEnum.TWO, actual.get(1));
+    }
+
+    @Test
+    public void streamArray() {
+        Iterator<?> stream = factory.createStream(new TypeTag(int[].class), prefabValues, typeStack);
+        assertArrayEquals(new int[]{ 42 }, (int[])stream.next());
+        assertArrayEquals(new int[]{ 1337 }, (int[])stream.next());
+        assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void streamClassWithFieldsUntilAllFieldStreamsRunOut() {
+        prefabValues.addFactory(boolean.class, true, false);
+        prefabValues.addStreamFactory(int.class, new SequenceFactory<Integer>(3) {
+            @Override protected Integer valueAt(int index) { return index; }
+        });
+
+        List<?> actual = drain(factory.createStream(new TypeTag(MixedContainer.class), prefabValues, typeStack));
+        assertEquals(3, actual.size());
+        assertEquals(new MixedContainer(0, true), actual.get(0));
+        assertEquals(new MixedContainer(1, false), actual.get(1));
+        assertEquals(new MixedContainer(2, false), actual.get(2));
+        assertEquals(-100, IntContainer.staticI);
+    }
+
+    @Test
+    public void dontStreamRecursiveClass() {
+        thrown.expect(RecursionException.class);
+        factory.createStream(new TypeTag(Node.class), prefabValues, typeStack);
+    }
+
+    private List<Object> drain(Iterator<?> stream) {
+        List<Object> result = new ArrayList<>();
+        while (stream.hasNext()) {
+            result.add(stream.next());
+        }
+        return result;
+    }
+
     private <T> void assertCorrectTuple(Class<T> type, T expectedRed, T expectedBlack) {
         Tuple<?> tuple = factory.createValues(new TypeTag(type), prefabValues, typeStack);
         assertEquals(expectedRed, tuple.getRed());
@@ -123,4 +177,14 @@ public class FallbackFactoryTest {
         @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
         @Override public int hashCode() { return defaultHashCode(this); }
     }
+
+    private static final class MixedContainer {
+        @SuppressWarnings("unused") private final int i;
+        @SuppressWarnings("unused") private final boolean b;
+
+        public MixedContainer(int i, boolean b) { this.i = i; this.b = b; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
 }
@@ -22,9 +22,12 @@ import nl.jqno.equalsverifier.internal.prefabvalues.TypeTag;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
 
@@ -76,6 +79,16 @@ public class MapFactoryTest {
         assertEquals(mapOf(blackObject, blackObject), tuple.getBlack());
     }
 
+    @Test
+    public void createMapsThroughConstructor() {
+        MapFactory<TreeMap> factory = MapFactory.constructing(TreeMap.class,
+                new Class<?>[] { Comparator.class }, new Object[] { Collections.reverseOrder() });
+        Tuple<TreeMap> tuple = factory.createValues(new TypeTag(TreeMap.class, STRING_TYPETAG, STRING_TYPETAG), prefabValues, typeStack);
+        assertEquals(mapOf(red, black), tuple.getRed());
+        assertEquals(Collections.reverseOrder(), tuple.getRed().comparator());
+        assertEquals(mapOf(black, black), tuple.getBlack());
+    }
+
     private static class StubMapPrefabValueFactory extends MapFactory<Map> {
         @Override
         public Map createEmpty() {
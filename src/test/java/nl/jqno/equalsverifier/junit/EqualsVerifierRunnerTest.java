@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.junit;
+
+import nl.jqno.equalsverifier.Warning;
+import nl.jqno.equalsverifier.junit.fixtures.RunnerFixtures.*;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EqualsVerifierRunnerTest {
+    private static final String FIXTURES = "nl.jqno.equalsverifier.junit.fixtures";
+
+    @Test
+    public void describeEachClassThatDeclaresEquals() {
+        Description description = Request.aClass(Overridden.class).getRunner().getDescription();
+
+        List<String> names = new ArrayList<>();
+        for (Description child : description.getChildren()) {
+            names.add(child.getMethodName());
+        }
+        assertTrue(names.contains(Correct.class.getName()));
+        assertTrue(names.contains(NonfinalFields.class.getName()));
+        assertFalse(names.contains(WithoutEquals.class.getName()));
+        assertFalse(names.contains(IgnoresField.class.getName()));
+    }
+
+    @Test
+    public void reportFailuresPerClass() {
+        Result result = JUnitCore.runClasses(Plain.class);
+
+        assertEquals(3, result.getRunCount());
+        List<String> failed = new ArrayList<>();
+        for (Failure failure : result.getFailures()) {
+            failed.add(failure.getDescription().getMethodName());
+        }
+        assertTrue(failed.contains(NonfinalFields.class.getName()));
+        assertTrue(failed.contains(IgnoresField.class.getName()));
+        assertFalse(failed.contains(Correct.class.getName()));
+    }
+
+    @Test
+    public void applyOverrides() {
+        Result result = JUnitCore.runClasses(Overridden.class);
+
+        assertEquals(2, result.getRunCount());
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void verifyInParallel() {
+        Result result = JUnitCore.runClasses(Parallel.class);
+
+        assertEquals(3, result.getRunCount());
+        assertTrue(result.wasSuccessful());
+    }
+
+    @Test
+    public void failWithoutAnnotation() {
+        Result result = JUnitCore.runClasses(Unannotated.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage().contains("must be annotated with @VerifyPackages"));
+    }
+
+    @RunWith(EqualsVerifierRunner.class)
+    @VerifyPackages(FIXTURES)
+    public static class Plain {}
+
+    @RunWith(EqualsVerifierRunner.class)
+    @VerifyPackages(value = FIXTURES, overrides = {
+            @VerifyClass(value = NonfinalFields.class, suppress = Warning.NONFINAL_FIELDS),
+            @VerifyClass(value = IgnoresField.class, skip = true)
+    })
+    public static class Overridden {}
+
+    @RunWith(EqualsVerifierRunner.class)
+    @VerifyPackages(value = FIXTURES, suppress = Warning.NONFINAL_FIELDS, parallelism = 3, overrides = {
+            @VerifyClass(value = IgnoresField.class, suppress = Warning.ALL_FIELDS_SHOULD_BE_USED)
+    })
+    public static class Parallel {}
+
+    @RunWith(EqualsVerifierRunner.class)
+    public static class Unannotated {}
+}
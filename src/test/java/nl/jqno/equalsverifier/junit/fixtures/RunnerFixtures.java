@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Jan Ouwens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.jqno.equalsverifier.junit.fixtures;
+
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultEquals;
+import static nl.jqno.equalsverifier.testhelpers.Util.defaultHashCode;
+
+public final class RunnerFixtures {
+    private RunnerFixtures() {}
+
+    public static final class Correct {
+        private final int x;
+
+        public Correct(int x) { this.x = x; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
+
+    public static final class NonfinalFields {
+        private int x;
+
+        public NonfinalFields(int x) { this.x = x; }
+
+        @Override public boolean equals(Object obj) { return defaultEquals(this, obj); }
+        @Override public int hashCode() { return defaultHashCode(this); }
+    }
+
+    public static final class IgnoresField {
+        private final int x;
+        private final int y;
+
+        public IgnoresField(int x, int y) { this.x = x; this.y = y; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IgnoresField && x == ((IgnoresField)obj).x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+    }
+
+    public static final class WithoutEquals {
+        private final int x;
+
+        public WithoutEquals(int x) { this.x = x; }
+    }
+}